@@ -0,0 +1,44 @@
+package com.bootcamp.taskmanager.config;
+
+import com.bootcamp.taskmanager.repository.journal.TaskJournal;
+import com.bootcamp.taskmanager.repository.journal.WalTaskJournal;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Elige el journal del TaskRepository según task-store.mode.
+ *
+ * @ConditionalOnProperty crea el bean solo si la propiedad tiene el valor
+ * indicado: así el perfil activo (dev, prod) decide la implementación sin
+ * tocar código.
+ */
+@Configuration
+@EnableConfigurationProperties(TaskStoreProperties.class)
+public class TaskStoreConfig {
+
+    /**
+     * Modo por defecto: solo memoria.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "task-store.mode", havingValue = "memory", matchIfMissing = true)
+    public TaskJournal inMemoryTaskJournal() {
+        return TaskJournal.NONE;
+    }
+
+    /**
+     * Modo persistente: write-ahead log + snapshots en disco.
+     *
+     * Spring llama a close() al apagar la aplicación.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "task-store.mode", havingValue = "wal")
+    public TaskJournal walTaskJournal(TaskStoreProperties properties) {
+        return new WalTaskJournal(
+                properties.directory(),
+                Math.toIntExact(properties.segmentSize().toBytes()),
+                properties.snapshotThreshold().toBytes(),
+                properties.fsync());
+    }
+}
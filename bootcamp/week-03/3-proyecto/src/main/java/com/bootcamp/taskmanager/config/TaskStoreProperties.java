@@ -0,0 +1,44 @@
+package com.bootcamp.taskmanager.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Configuración del almacenamiento de tareas (prefijo "task-store").
+ *
+ * ═══════════════════════════════════════════════════════════════════════════
+ * @ConfigurationProperties
+ * ═══════════════════════════════════════════════════════════════════════════
+ *
+ * Spring copia las propiedades del YAML en este record:
+ *
+ *   task-store:
+ *     mode: wal                 →  mode()
+ *     segment-size: 64MB        →  segmentSize()  (kebab-case → camelCase)
+ *
+ * Es más seguro que leer cada valor con @Value: los tipos se validan al
+ * arrancar y toda la configuración relacionada queda en un solo lugar.
+ *
+ * @param mode              memory (se pierde al reiniciar) o wal (persistente)
+ * @param directory         Directorio del log y los snapshots (solo wal)
+ * @param fsync             true para confirmar cada escritura en disco
+ * @param segmentSize       Tamaño de cada fichero del log
+ * @param snapshotThreshold Log acumulado que dispara un snapshot
+ */
+@ConfigurationProperties(prefix = "task-store")
+public record TaskStoreProperties(
+        @DefaultValue("memory") Mode mode,
+        @DefaultValue("./data/tasks") Path directory,
+        @DefaultValue("true") boolean fsync,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("256MB") DataSize snapshotThreshold
+) {
+
+    public enum Mode {
+        MEMORY,
+        WAL
+    }
+}
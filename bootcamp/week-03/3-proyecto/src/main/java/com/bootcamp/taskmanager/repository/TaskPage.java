@@ -0,0 +1,27 @@
+package com.bootcamp.taskmanager.repository;
+
+import com.bootcamp.taskmanager.model.Task;
+
+import java.util.List;
+
+/**
+ * Página de resultados devuelta por TaskRepository.
+ *
+ * Es el equivalente "casero" de Page<T> de Spring Data, que usaremos a
+ * partir de la Semana 04.
+ *
+ * @param content       Tareas de la página (como mucho {@code size})
+ * @param page          Número de página, empezando en 0
+ * @param size          Tamaño de página solicitado
+ * @param totalElements Total de tareas que cumplen el filtro
+ */
+public record TaskPage(List<Task> content, int page, int size, long totalElements) {
+
+    public int totalPages() {
+        return (int) ((totalElements + size - 1) / size);
+    }
+
+    public boolean hasNext() {
+        return (long) (page + 1) * size < totalElements;
+    }
+}
@@ -1,13 +1,23 @@
 package com.bootcamp.taskmanager.repository;
 
 import com.bootcamp.taskmanager.model.Task;
+import com.bootcamp.taskmanager.repository.journal.TaskJournal;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 /**
  * Repositorio de tareas - Capa de DATOS.
@@ -39,6 +49,33 @@ import java.util.concurrent.ConcurrentHashMap;
  * extienda JpaRepository<Task, String> y Spring Data JPA implementará
  * todos los métodos automáticamente.
  *
+ * ═══════════════════════════════════════════════════════════════════════════
+ * ÍNDICES SECUNDARIOS
+ * ═══════════════════════════════════════════════════════════════════════════
+ *
+ * Además del mapa por ID, se mantienen índices ordenados por fecha de
+ * creación: uno con todas las tareas y otro por cada estado (completada /
+ * pendiente). Así, "dame la página 3 de las pendientes más recientes" no
+ * recorre todas las tareas: solo navega el índice de pendientes.
+ *
+ * Es lo mismo que hace una base de datos con CREATE INDEX; en la Semana 04
+ * lo delegaremos en PostgreSQL.
+ *
+ * Reglas para que los índices no se desincronicen:
+ *   - Se guardan COPIAS de las tareas y se devuelven copias. Si el código
+ *     llamador modifica una Task, no cambia lo almacenado hasta save().
+ *   - Las escrituras (mapa + índices) ocurren bajo un write lock, y las
+ *     lecturas de varias tareas bajo un read lock: cada consulta ve un
+ *     estado consistente (snapshot), nunca una escritura a medias.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════
+ * PERSISTENCIA (task-store.mode)
+ * ═══════════════════════════════════════════════════════════════════════════
+ *
+ * Cada save/delete se anota en un TaskJournal antes de aplicarse. Con
+ * mode=memory el journal no hace nada; con mode=wal se escribe en un
+ * write-ahead log y el estado se recupera al reiniciar (ver WalTaskJournal).
+ *
  */
 @Repository
 public class TaskRepository {
@@ -53,6 +90,63 @@ public class TaskRepository {
      */
     private final Map<String, Task> storage = new ConcurrentHashMap<>();
 
+    /**
+     * Índice de todas las tareas ordenadas por (createdAt, id).
+     */
+    private final NavigableMap<IndexKey, Task> byCreatedAt = new TreeMap<>(IndexKey.ORDER);
+
+    /**
+     * Índices por estado, también ordenados por (createdAt, id).
+     */
+    private final NavigableMap<IndexKey, Task> completedByCreatedAt = new TreeMap<>(IndexKey.ORDER);
+    private final NavigableMap<IndexKey, Task> pendingByCreatedAt = new TreeMap<>(IndexKey.ORDER);
+
+    /**
+     * Protege que el mapa y los índices cambien juntos.
+     *
+     * findById/existsById no lo necesitan: leen del ConcurrentHashMap, que
+     * siempre contiene copias que nadie modifica.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final TaskJournal journal;
+
+    /**
+     * Orden por fecha de creación para las consultas paginadas.
+     */
+    public enum SortOrder {
+        OLDEST_FIRST,
+        NEWEST_FIRST
+    }
+
+    /**
+     * Reconstruye el estado guardado en el journal (si lo hay).
+     *
+     * Durante la recuperación solo se rellena el mapa por ID; los índices
+     * se construyen al final, una sola vez, insertando en orden.
+     *
+     * @param journal Journal configurado en TaskStoreConfig
+     */
+    public TaskRepository(TaskJournal journal) {
+        this.journal = journal;
+        journal.recover(new TaskJournal.Replay() {
+            @Override
+            public void save(Task task) {
+                storage.put(task.getId(), task);
+            }
+
+            @Override
+            public void delete(String taskId) {
+                storage.remove(taskId);
+            }
+        });
+        Task[] recovered = storage.values().toArray(Task[]::new);
+        Arrays.sort(recovered, Comparator.comparing(IndexKey::of, IndexKey.ORDER));
+        for (Task task : recovered) {
+            index(task);
+        }
+    }
+
     // =========================================================================
     // OPERACIONES CRUD
     // =========================================================================
@@ -64,7 +158,21 @@ public class TaskRepository {
      * @return La tarea guardada
      */
     public Task save(Task task) {
-        storage.put(task.getId(), task);
+        Task stored = copyOf(task);
+        long position;
+        lock.writeLock().lock();
+        try {
+            position = journal.appendSave(stored);
+            Task previous = storage.put(stored.getId(), stored);
+            if (previous != null) {
+                unindex(previous);
+            }
+            index(stored);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        journal.awaitDurable(position);
+        checkpointIfDue();
         return task;
     }
 
@@ -75,16 +183,23 @@ public class TaskRepository {
      * @return Optional con la tarea si existe, vacío si no
      */
     public Optional<Task> findById(String id) {
-        return Optional.ofNullable(storage.get(id));
+        return Optional.ofNullable(storage.get(id)).map(TaskRepository::copyOf);
     }
 
     /**
-     * Retorna todas las tareas.
+     * Retorna todas las tareas, de la más antigua a la más reciente.
+     *
+     * Copia TODAS las tareas: con muchos datos, usar findPageAfter().
      *
      * @return Lista de todas las tareas
      */
     public List<Task> findAll() {
-        return new ArrayList<>(storage.values());
+        lock.readLock().lock();
+        try {
+            return copyAll(byCreatedAt.values(), byCreatedAt.size());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -93,7 +208,19 @@ public class TaskRepository {
      * @param id El ID de la tarea a eliminar
      */
     public void deleteById(String id) {
-        storage.remove(id);
+        long position;
+        lock.writeLock().lock();
+        try {
+            if (!storage.containsKey(id)) {
+                return;
+            }
+            position = journal.appendDelete(id);
+            unindex(storage.remove(id));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        journal.awaitDurable(position);
+        checkpointIfDue();
     }
 
     /**
@@ -106,6 +233,268 @@ public class TaskRepository {
         return storage.containsKey(id);
     }
 
+    // =========================================================================
+    // CONSULTAS CON ÍNDICES
+    // =========================================================================
+
+    /**
+     * Retorna las tareas con el estado dado, de la más antigua a la más reciente.
+     *
+     * @param completed true para completadas, false para pendientes
+     * @return Lista de tareas con ese estado
+     */
+    public List<Task> findByCompleted(boolean completed) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<IndexKey, Task> index = indexFor(completed);
+            return copyAll(index.values(), index.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna una página de tareas ordenada por fecha de creación.
+     *
+     * Solo se copian las tareas de la página, pero el salto hasta el inicio
+     * de la página recorre page * size entradas del índice con el read lock
+     * tomado (las escrituras esperan): el coste crece con el desplazamiento.
+     * Sirve para las primeras páginas; para páginas profundas o recorrer
+     * muchos datos usar findPageAfter(), que salta directamente al cursor.
+     *
+     * @param completed null para todas, true/false para filtrar por estado
+     * @param order     Orden por fecha de creación
+     * @param page      Número de página, empezando en 0
+     * @param size      Tamaño de página (mayor que 0)
+     * @return La página solicitada y el total de tareas del filtro
+     */
+    public TaskPage findPage(Boolean completed, SortOrder order, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("page debe ser >= 0 y size > 0");
+        }
+        lock.readLock().lock();
+        try {
+            NavigableMap<IndexKey, Task> index = indexFor(completed);
+            Collection<Task> ordered = order == SortOrder.NEWEST_FIRST
+                    ? index.descendingMap().values()
+                    : index.values();
+            List<Task> content = ordered.stream()
+                    .skip((long) page * size)
+                    .limit(size)
+                    .map(TaskRepository::copyOf)
+                    .toList();
+            return new TaskPage(content, page, size, index.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna la página siguiente a la tarea (afterCreatedAt, afterId),
+     * paginación por cursor (keyset).
+     *
+     * El cursor es la fecha de creación y el ID de la última tarea de la
+     * página anterior. tailMap()/headMap() saltan a esa posición del árbol
+     * en O(log n), así que cualquier página cuesta lo mismo que la primera.
+     * A diferencia de findPage(), no se repiten ni se saltan tareas si otras
+     * se insertan o borran entre una página y la siguiente.
+     *
+     * @param completed      null para todas, true/false para filtrar por estado
+     * @param order          Orden por fecha de creación
+     * @param afterCreatedAt Fecha de creación de la última tarea recibida
+     * @param afterId        ID de la última tarea recibida (null para la primera página)
+     * @param size           Tamaño de página (mayor que 0)
+     * @return Como mucho {@code size} tareas posteriores al cursor
+     */
+    public List<Task> findPageAfter(Boolean completed, SortOrder order,
+                                    LocalDateTime afterCreatedAt, String afterId, int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size debe ser > 0");
+        }
+        lock.readLock().lock();
+        try {
+            NavigableMap<IndexKey, Task> index = indexFor(completed);
+            NavigableMap<IndexKey, Task> remaining;
+            if (afterId == null) {
+                remaining = order == SortOrder.NEWEST_FIRST ? index.descendingMap() : index;
+            } else {
+                IndexKey cursor = new IndexKey(afterCreatedAt, afterId);
+                remaining = order == SortOrder.NEWEST_FIRST
+                        ? index.headMap(cursor, false).descendingMap()
+                        : index.tailMap(cursor, false);
+            }
+            List<Task> content = new ArrayList<>();
+            for (Task task : remaining.values()) {
+                if (content.size() == size) {
+                    break;
+                }
+                content.add(copyOf(task));
+            }
+            return content;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna las tareas creadas en [from, to), ordenadas por fecha de creación.
+     *
+     * Usa subMap() del índice: el coste depende de las tareas del rango,
+     * no del total almacenado.
+     *
+     * @param from      Inicio del rango (incluido)
+     * @param to        Fin del rango (excluido)
+     * @param completed null para todas, true/false para filtrar por estado
+     * @param order     Orden por fecha de creación
+     * @param limit     Máximo de tareas a devolver
+     * @return Tareas del rango
+     */
+    public List<Task> findCreatedBetween(LocalDateTime from, LocalDateTime to, Boolean completed,
+                                         SortOrder order, int limit) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<IndexKey, Task> range = indexFor(completed)
+                    .subMap(new IndexKey(from, ""), true, new IndexKey(to, ""), false);
+            Collection<Task> ordered = order == SortOrder.NEWEST_FIRST
+                    ? range.descendingMap().values()
+                    : range.values();
+            return ordered.stream()
+                    .limit(limit)
+                    .map(TaskRepository::copyOf)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recorre las tareas sobre un snapshot consistente.
+     *
+     * Mientras dura el recorrido las escrituras esperan, así que la acción
+     * debe ser rápida (nada de llamadas HTTP ni esperas).
+     *
+     * @param completed null para todas, true/false para filtrar por estado
+     * @param order     Orden por fecha de creación
+     * @param action    Acción a ejecutar con cada tarea (recibe una copia)
+     */
+    public void forEach(Boolean completed, SortOrder order, Consumer<Task> action) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<IndexKey, Task> index = indexFor(completed);
+            Collection<Task> ordered = order == SortOrder.NEWEST_FIRST
+                    ? index.descendingMap().values()
+                    : index.values();
+            for (Task task : ordered) {
+                action.accept(copyOf(task));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Cuenta todas las tareas.
+     *
+     * @return Número de tareas
+     */
+    public long count() {
+        return storage.size();
+    }
+
+    /**
+     * Cuenta las tareas con el estado dado.
+     *
+     * @param completed true para completadas, false para pendientes
+     * @return Número de tareas con ese estado
+     */
+    public long countByCompleted(boolean completed) {
+        lock.readLock().lock();
+        try {
+            return indexFor(completed).size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================================================================
+    // SNAPSHOTS DEL JOURNAL
+    // =========================================================================
+
+    /**
+     * Compacta el journal si ha crecido demasiado.
+     *
+     * El read lock impide escrituras mientras el journal corta el log y
+     * copia las referencias: el snapshot corresponde exactamente a ese punto.
+     */
+    private void checkpointIfDue() {
+        if (!journal.checkpointDue()) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            journal.checkpoint(storage.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================================================================
+    // MANTENIMIENTO DE ÍNDICES (siempre bajo el write lock)
+    // =========================================================================
+
+    private void index(Task task) {
+        IndexKey key = IndexKey.of(task);
+        byCreatedAt.put(key, task);
+        indexFor(task.isCompleted()).put(key, task);
+    }
+
+    private void unindex(Task task) {
+        IndexKey key = IndexKey.of(task);
+        byCreatedAt.remove(key);
+        indexFor(task.isCompleted()).remove(key);
+    }
+
+    private NavigableMap<IndexKey, Task> indexFor(Boolean completed) {
+        if (completed == null) {
+            return byCreatedAt;
+        }
+        return completed ? completedByCreatedAt : pendingByCreatedAt;
+    }
+
+    private static List<Task> copyAll(Collection<Task> tasks, int size) {
+        List<Task> copies = new ArrayList<>(size);
+        for (Task task : tasks) {
+            copies.add(copyOf(task));
+        }
+        return copies;
+    }
+
+    private static Task copyOf(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setTitle(task.getTitle());
+        copy.setDescription(task.getDescription());
+        copy.setCompleted(task.isCompleted());
+        copy.setCreatedAt(task.getCreatedAt());
+        copy.setUpdatedAt(task.getUpdatedAt());
+        return copy;
+    }
+
+    /**
+     * Clave de los índices: fecha de creación y, para desempatar, el ID.
+     * Las tareas sin createdAt quedan al principio.
+     */
+    private record IndexKey(LocalDateTime createdAt, String id) {
+
+        static final Comparator<IndexKey> ORDER = Comparator
+                .comparing(IndexKey::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(IndexKey::id);
+
+        static IndexKey of(Task task) {
+            return new IndexKey(task.getCreatedAt(), task.getId());
+        }
+    }
+
     // =========================================================================
     // TODO 5: Implementar método findByTitle (OPCIONAL)
     // =========================================================================
@@ -0,0 +1,123 @@
+package com.bootcamp.taskmanager.repository.journal;
+
+import com.bootcamp.taskmanager.model.Task;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Un fichero del write-ahead log, mapeado en memoria.
+ *
+ * El fichero se crea con su tamaño final (relleno de ceros) y se mapea
+ * entero: escribir un registro es copiar bytes en memoria, sin llamadas
+ * al sistema. El kernel vuelca las páginas a disco por su cuenta, así que
+ * los datos sobreviven a una caída del PROCESO; para sobrevivir a una
+ * caída de la MÁQUINA hay que llamar a force() (fsync).
+ */
+final class LogSegment implements AutoCloseable {
+
+    private final long sequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+
+    private LogSegment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Crea un segmento nuevo y vacío de {@code size} bytes.
+     */
+    static LogSegment create(Path path, long sequence, int size) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new LogSegment(sequence, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    }
+
+    /**
+     * Abre un segmento existente para reproducirlo.
+     */
+    static LogSegment open(Path path, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new LogSegment(sequence, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+    }
+
+    /**
+     * Indica si el segmento no tiene ningún registro (sin mapearlo).
+     */
+    static boolean isEmpty(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            return channel.read(length, 0) < 4 || length.getInt(0) == 0;
+        }
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    /**
+     * Bytes escritos hasta ahora.
+     */
+    int position() {
+        return buffer.position();
+    }
+
+    boolean appendSave(Task task) {
+        return TaskRecordCodec.writeSave(buffer, task);
+    }
+
+    boolean appendDelete(String taskId) {
+        return TaskRecordCodec.writeDelete(buffer, taskId);
+    }
+
+    /**
+     * Reproduce los registros del segmento.
+     *
+     * Un registro incompleto al final se interpreta como una escritura
+     * interrumpida por una caída: si {@code lastSegment} es true se descarta
+     * (se marca ahí el final del log); si no, el log está dañado.
+     *
+     * @return número de registros reproducidos
+     */
+    int replay(TaskJournal.Replay replay, boolean lastSegment) {
+        int records = 0;
+        while (TaskRecordCodec.read(buffer, replay)) {
+            records++;
+        }
+        int end = buffer.position();
+        boolean clean = buffer.remaining() < TaskRecordCodec.HEADER_BYTES || buffer.getInt(end) == 0;
+        if (!clean) {
+            if (!lastSegment) {
+                throw new IllegalStateException("Registro corrupto en " + path + " (byte " + end + ")");
+            }
+            buffer.putInt(end, 0);
+            buffer.force();
+        }
+        return records;
+    }
+
+    /**
+     * Fuerza a disco (fsync) lo escrito en el segmento.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.bootcamp.taskmanager.repository.journal;
+
+import com.bootcamp.taskmanager.model.Task;
+
+import java.util.Collection;
+
+/**
+ * Registro de cambios (journal) del TaskRepository.
+ *
+ * El repositorio anota aquí cada save/delete ANTES de aplicarlo en memoria,
+ * y al arrancar reconstruye su estado a partir de lo anotado. La
+ * implementación NONE no anota nada: el repositorio es puramente en
+ * memoria y se pierde al reiniciar.
+ *
+ * Contrato con el repositorio:
+ *   - appendSave/appendDelete y checkpoint se llaman sin escrituras
+ *     concurrentes (bajo el lock del repositorio).
+ *   - awaitDurable se llama FUERA del lock: así varias escrituras comparten
+ *     un mismo fsync (group commit).
+ */
+public interface TaskJournal extends AutoCloseable {
+
+    /**
+     * Journal vacío: modo solo memoria.
+     */
+    TaskJournal NONE = new TaskJournal() {
+        @Override
+        public void recover(Replay replay) {
+        }
+
+        @Override
+        public long appendSave(Task task) {
+            return 0;
+        }
+
+        @Override
+        public long appendDelete(String taskId) {
+            return 0;
+        }
+
+        @Override
+        public void awaitDurable(long position) {
+        }
+
+        @Override
+        public boolean checkpointDue() {
+            return false;
+        }
+
+        @Override
+        public void checkpoint(Collection<Task> tasks) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /**
+     * Destino de los registros al reconstruir el estado.
+     */
+    interface Replay {
+        void save(Task task);
+
+        void delete(String taskId);
+    }
+
+    /**
+     * Reproduce el último snapshot y el log posterior.
+     */
+    void recover(Replay replay);
+
+    /**
+     * Anota un save.
+     *
+     * @return posición del registro en el log, para awaitDurable()
+     */
+    long appendSave(Task task);
+
+    /**
+     * Anota un delete.
+     *
+     * @return posición del registro en el log, para awaitDurable()
+     */
+    long appendDelete(String taskId);
+
+    /**
+     * Espera a que el log esté en disco al menos hasta {@code position}.
+     */
+    void awaitDurable(long position);
+
+    /**
+     * Indica si el log ha crecido lo suficiente como para compactarlo.
+     */
+    boolean checkpointDue();
+
+    /**
+     * Escribe un snapshot con el estado dado y descarta el log anterior.
+     *
+     * @param tasks Estado completo del repositorio; las tareas no deben
+     *              modificarse después (el snapshot puede escribirse en
+     *              segundo plano)
+     */
+    void checkpoint(Collection<Task> tasks);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,181 @@
+package com.bootcamp.taskmanager.repository.journal;
+
+import com.bootcamp.taskmanager.model.Task;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binario de los registros del log y de los snapshots.
+ *
+ * Cada registro ocupa:
+ *
+ *   ┌──────────────┬──────────────┬──────┬─────────────────────┐
+ *   │ longitud (4) │ CRC32C (4)   │ tipo │ datos de la tarea   │
+ *   └──────────────┴──────────────┴──────┴─────────────────────┘
+ *
+ * La longitud cuenta tipo + datos, y el CRC se calcula sobre esos mismos
+ * bytes. Una longitud 0 marca el final del log: los segmentos se crean
+ * rellenos de ceros. Si el proceso muere a mitad de una escritura, el
+ * CRC no coincide y la lectura se detiene en el último registro completo.
+ */
+final class TaskRecordCodec {
+
+    static final int HEADER_BYTES = 8;
+
+    static final byte SAVE = 1;
+    static final byte DELETE = 2;
+
+    private TaskRecordCodec() {
+    }
+
+    /**
+     * Escribe un registro SAVE en el buffer, a partir de su posición actual.
+     *
+     * @return false si no cabe (el buffer no se modifica)
+     */
+    static boolean writeSave(ByteBuffer buffer, Task task) {
+        byte[] id = bytes(task.getId());
+        byte[] title = bytes(task.getTitle());
+        byte[] description = bytes(task.getDescription());
+        int length = 1 + sizeOf(id) + sizeOf(title) + sizeOf(description) + 1
+                + sizeOf(task.getCreatedAt()) + sizeOf(task.getUpdatedAt());
+        if (buffer.remaining() < HEADER_BYTES + length) {
+            return false;
+        }
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.put(SAVE);
+        put(buffer, id);
+        put(buffer, title);
+        put(buffer, description);
+        buffer.put((byte) (task.isCompleted() ? 1 : 0));
+        put(buffer, task.getCreatedAt());
+        put(buffer, task.getUpdatedAt());
+        seal(buffer, start, length);
+        return true;
+    }
+
+    /**
+     * Escribe un registro DELETE en el buffer, a partir de su posición actual.
+     *
+     * @return false si no cabe (el buffer no se modifica)
+     */
+    static boolean writeDelete(ByteBuffer buffer, String taskId) {
+        byte[] id = bytes(taskId);
+        int length = 1 + sizeOf(id);
+        if (buffer.remaining() < HEADER_BYTES + length) {
+            return false;
+        }
+        int start = buffer.position();
+        buffer.position(start + HEADER_BYTES);
+        buffer.put(DELETE);
+        put(buffer, id);
+        seal(buffer, start, length);
+        return true;
+    }
+
+    /**
+     * Lee el siguiente registro y avanza la posición del buffer.
+     *
+     * @return false si se llegó al final o el registro está incompleto/corrupto
+     *         (en ese caso la posición no avanza)
+     */
+    static boolean read(ByteBuffer buffer, TaskJournal.Replay replay) {
+        int start = buffer.position();
+        if (buffer.remaining() < HEADER_BYTES) {
+            return false;
+        }
+        int length = buffer.getInt(start);
+        int crc = buffer.getInt(start + 4);
+        if (length <= 0 || length > buffer.remaining() - HEADER_BYTES
+                || crc != checksum(buffer, start + HEADER_BYTES, length)) {
+            return false;
+        }
+        ByteBuffer body = buffer.slice(start + HEADER_BYTES, length);
+        byte type = body.get();
+        if (type == SAVE) {
+            Task task = new Task();
+            task.setId(getString(body));
+            task.setTitle(getString(body));
+            task.setDescription(getString(body));
+            task.setCompleted(body.get() == 1);
+            task.setCreatedAt(getDateTime(body));
+            task.setUpdatedAt(getDateTime(body));
+            replay.save(task);
+        } else if (type == DELETE) {
+            replay.delete(getString(body));
+        } else {
+            return false;
+        }
+        buffer.position(start + HEADER_BYTES + length);
+        return true;
+    }
+
+    // =========================================================================
+    // CAMPOS
+    // =========================================================================
+
+    private static void seal(ByteBuffer buffer, int start, int length) {
+        buffer.putInt(start + 4, checksum(buffer, start + HEADER_BYTES, length));
+        // La longitud se escribe al final: hasta entonces el registro "no existe"
+        buffer.putInt(start, length);
+    }
+
+    private static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] value) {
+        return 4 + (value == null ? 0 : value.length);
+    }
+
+    private static int sizeOf(LocalDateTime value) {
+        return value == null ? 1 : 1 + 8 + 4;
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static void put(ByteBuffer buffer, LocalDateTime value) {
+        if (value == null) {
+            buffer.put((byte) 0);
+        } else {
+            buffer.put((byte) 1);
+            buffer.putLong(value.toEpochSecond(ZoneOffset.UTC));
+            buffer.putInt(value.getNano());
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static LocalDateTime getDateTime(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+}
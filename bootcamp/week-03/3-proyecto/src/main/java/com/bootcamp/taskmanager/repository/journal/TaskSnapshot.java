@@ -0,0 +1,127 @@
+package com.bootcamp.taskmanager.repository.journal;
+
+import com.bootcamp.taskmanager.model.Task;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Lectura y escritura de snapshots: el estado completo del repositorio en
+ * un solo fichero compacto (un registro SAVE por tarea viva).
+ *
+ * Formato: MAGIC (4) + número de tareas (8) + registros.
+ *
+ * Se escribe primero en un fichero temporal, se hace fsync y después se
+ * renombra: un snapshot a medio escribir nunca llega a tener el nombre
+ * definitivo.
+ */
+final class TaskSnapshot {
+
+    private static final int MAGIC = 0x54534E50; // "TSNP"
+    private static final int PREAMBLE_BYTES = 12;
+    private static final int BUFFER_BYTES = 1 << 20;
+    private static final int MAX_RECORD_BYTES = 1 << 30;
+
+    private TaskSnapshot() {
+    }
+
+    static void write(Path target, List<Task> tasks) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+            buffer.putInt(MAGIC).putLong(tasks.size());
+            for (Task task : tasks) {
+                while (!TaskRecordCodec.writeSave(buffer, task)) {
+                    if (buffer.position() == 0) {
+                        buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                    } else {
+                        drain(channel, buffer);
+                    }
+                }
+            }
+            drain(channel, buffer);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(target.getParent());
+    }
+
+    /**
+     * @return número de tareas cargadas
+     */
+    static long read(Path source, TaskJournal.Replay replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).flip();
+            if (!fill(channel, buffer, PREAMBLE_BYTES) || buffer.getInt() != MAGIC) {
+                throw corrupt(source);
+            }
+            long count = buffer.getLong();
+            for (long i = 0; i < count; i++) {
+                if (!fill(channel, buffer, TaskRecordCodec.HEADER_BYTES)) {
+                    throw corrupt(source);
+                }
+                int length = buffer.getInt(buffer.position());
+                if (length <= 0 || length > MAX_RECORD_BYTES) {
+                    throw corrupt(source);
+                }
+                int needed = TaskRecordCodec.HEADER_BYTES + length;
+                if (needed > buffer.capacity()) {
+                    buffer = ByteBuffer.allocate(Integer.highestOneBit(needed) << 1).put(buffer).flip();
+                }
+                if (!fill(channel, buffer, needed) || !TaskRecordCodec.read(buffer, replay)) {
+                    throw corrupt(source);
+                }
+            }
+            return count;
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Asegura que haya al menos {@code bytes} sin leer en el buffer.
+     */
+    private static boolean fill(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return true;
+        }
+        buffer.compact();
+        while (buffer.position() < bytes) {
+            if (channel.read(buffer) < 0) {
+                buffer.flip();
+                return false;
+            }
+        }
+        buffer.flip();
+        return true;
+    }
+
+    /**
+     * Hace fsync del directorio para que el renombrado quede en disco antes
+     * de borrar el log anterior. No todos los sistemas lo permiten.
+     */
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windows no permite abrir directorios; el renombrado sigue siendo atómico
+        }
+    }
+
+    private static IllegalStateException corrupt(Path source) {
+        return new IllegalStateException("Snapshot incompleto o corrupto: " + source);
+    }
+}
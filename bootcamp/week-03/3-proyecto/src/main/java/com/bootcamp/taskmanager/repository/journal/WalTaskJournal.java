@@ -0,0 +1,379 @@
+package com.bootcamp.taskmanager.repository.journal;
+
+import com.bootcamp.taskmanager.model.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Journal persistente: write-ahead log + snapshots en un directorio.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════
+ * FICHEROS
+ * ═══════════════════════════════════════════════════════════════════════════
+ *
+ *   wal-00000000000000000007.log       ← segmentos del log (mapeados en memoria)
+ *   snapshot-00000000000000000007.snap ← estado ANTES del segmento 7
+ *
+ * Al arrancar se carga el último snapshot y se reproducen los segmentos
+ * con número mayor o igual. Después se abre siempre un segmento nuevo.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════
+ * GROUP COMMIT
+ * ═══════════════════════════════════════════════════════════════════════════
+ *
+ * Un fsync cuesta lo mismo para 1 registro que para 1.000. Si fsync=true,
+ * cada escritura espera en awaitDurable(): el primer hilo que llega hace el
+ * fsync de todo lo anotado hasta ese momento y los que llegan mientras
+ * tanto esperan y aprovechan el siguiente. Con mucha concurrencia, un solo
+ * fsync confirma muchas escrituras.
+ *
+ * Si fsync=false, awaitDurable() no espera: lo escrito sobrevive a una
+ * caída del proceso (está en la memoria del kernel) pero no a una caída
+ * de la máquina.
+ *
+ * ═══════════════════════════════════════════════════════════════════════════
+ * SNAPSHOTS
+ * ═══════════════════════════════════════════════════════════════════════════
+ *
+ * Cuando el log supera snapshotThreshold bytes desde el último snapshot, el
+ * repositorio llama a checkpoint(): se abre un segmento nuevo y el estado
+ * se escribe en segundo plano. Al terminar, se borran los segmentos y
+ * snapshots anteriores.
+ */
+public class WalTaskJournal implements TaskJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(WalTaskJournal.class);
+
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{20})\\.log");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d{20})\\.snap");
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long snapshotThreshold;
+    private final boolean fsync;
+
+    /**
+     * Protege el segmento actual y las posiciones del log.
+     */
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private LogSegment current;
+    private long appended;
+    private long appendedAtSnapshot;
+
+    /**
+     * Estado del group commit.
+     */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final Condition flushed = flushLock.newCondition();
+    private boolean flushing;
+    private long durable;
+
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("task-snapshot").daemon().factory());
+
+    /**
+     * @param directory         Directorio de datos (se crea si no existe)
+     * @param segmentBytes      Tamaño de cada segmento del log
+     * @param snapshotThreshold Bytes de log que disparan un snapshot
+     * @param fsync             true para confirmar cada escritura en disco
+     */
+    public WalTaskJournal(Path directory, int segmentBytes, long snapshotThreshold, boolean fsync) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.snapshotThreshold = snapshotThreshold;
+        this.fsync = fsync;
+    }
+
+    // =========================================================================
+    // ARRANQUE
+    // =========================================================================
+
+    @Override
+    public void recover(Replay replay) {
+        try {
+            Files.createDirectories(directory);
+            long started = System.nanoTime();
+
+            List<Long> snapshots = list(SNAPSHOT);
+            long fromSegment = snapshots.isEmpty() ? 0 : snapshots.get(snapshots.size() - 1);
+            long tasks = 0;
+            if (!snapshots.isEmpty()) {
+                tasks = TaskSnapshot.read(snapshotPath(fromSegment), replay);
+            }
+
+            List<Long> segments = new ArrayList<>();
+            for (long sequence : list(SEGMENT)) {
+                if (sequence < fromSegment) {
+                    // Restos de un snapshot cuyo borrado no llegó a terminar
+                    Files.deleteIfExists(segmentPath(sequence));
+                } else {
+                    segments.add(sequence);
+                }
+            }
+
+            // El final del log es el último segmento con datos; los vacíos
+            // posteriores (reinicios sin escrituras) se borran y se reutilizan
+            int last = segments.size() - 1;
+            while (last >= 0 && LogSegment.isEmpty(segmentPath(segments.get(last)))) {
+                last--;
+            }
+            long records = 0;
+            for (int i = 0; i <= last; i++) {
+                long sequence = segments.get(i);
+                try (LogSegment segment = LogSegment.open(segmentPath(sequence), sequence)) {
+                    records += segment.replay(replay, i == last);
+                }
+            }
+            for (int i = last + 1; i < segments.size(); i++) {
+                Files.delete(segmentPath(segments.get(i)));
+            }
+            long next = last >= 0 ? segments.get(last) + 1
+                    : segments.isEmpty() ? fromSegment : segments.get(0);
+
+            current = LogSegment.create(segmentPath(next), next, segmentBytes);
+            // Los segmentos reproducidos cuentan para el próximo snapshot
+            appendedAtSnapshot = fromSegment * segmentBytes;
+            advance();
+            log.info("Task store recuperado de {} en {} ms: {} tareas del snapshot, {} registros del log",
+                    directory, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), tasks, records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo recuperar el task store de " + directory, e);
+        }
+    }
+
+    // =========================================================================
+    // ESCRITURA
+    // =========================================================================
+
+    @Override
+    public long appendSave(Task task) {
+        appendLock.lock();
+        try {
+            if (!current.appendSave(task)) {
+                rotate();
+                if (!current.appendSave(task)) {
+                    throw new IllegalArgumentException("La tarea " + task.getId() + " no cabe en un segmento del log");
+                }
+            }
+            return advance();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public long appendDelete(String taskId) {
+        appendLock.lock();
+        try {
+            if (!current.appendDelete(taskId)) {
+                rotate();
+                current.appendDelete(taskId);
+            }
+            return advance();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void awaitDurable(long position) {
+        if (!fsync) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            while (durable < position) {
+                if (flushing) {
+                    flushed.awaitUninterruptibly();
+                    continue;
+                }
+                // Este hilo hace el fsync por todos los que estén esperando
+                flushing = true;
+                long target = durable;
+                flushLock.unlock();
+                try {
+                    target = forceCurrent();
+                } finally {
+                    flushLock.lock();
+                    flushing = false;
+                    durable = Math.max(durable, target);
+                    flushed.signalAll();
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Hace fsync del segmento actual.
+     *
+     * @return posición del log que queda en disco
+     */
+    private long forceCurrent() {
+        LogSegment segment;
+        long target;
+        appendLock.lock();
+        try {
+            segment = current;
+            target = appended;
+        } finally {
+            appendLock.unlock();
+        }
+        // Fuera del lock: las escrituras siguen mientras el disco trabaja
+        segment.force();
+        return target;
+    }
+
+    /**
+     * Cierra el segmento actual y abre el siguiente. Llamar con appendLock.
+     */
+    private void rotate() {
+        LogSegment previous = current;
+        // Los segmentos anteriores siempre quedan completos en disco
+        previous.force();
+        try {
+            current = LogSegment.create(segmentPath(previous.sequence() + 1), previous.sequence() + 1, segmentBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear un segmento del log", e);
+        }
+        previous.close();
+    }
+
+    /**
+     * Posición global del log: segmento * tamaño + desplazamiento. Crece
+     * siempre, también al cambiar de segmento.
+     */
+    private long advance() {
+        appended = (current.sequence() * (long) segmentBytes) + current.position();
+        return appended;
+    }
+
+    // =========================================================================
+    // SNAPSHOTS
+    // =========================================================================
+
+    @Override
+    public boolean checkpointDue() {
+        appendLock.lock();
+        try {
+            return appended - appendedAtSnapshot >= snapshotThreshold && !snapshotRunning.get();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    @Override
+    public void checkpoint(Collection<Task> tasks) {
+        if (!snapshotRunning.compareAndSet(false, true)) {
+            return;
+        }
+        long sequence;
+        appendLock.lock();
+        try {
+            rotate();
+            advance();
+            appendedAtSnapshot = appended;
+            sequence = current.sequence();
+        } catch (RuntimeException e) {
+            snapshotRunning.set(false);
+            throw e;
+        } finally {
+            appendLock.unlock();
+        }
+        // Copia de referencias: las tareas almacenadas nunca se modifican
+        List<Task> state = new ArrayList<>(tasks);
+        snapshotExecutor.execute(() -> writeSnapshot(sequence, state));
+    }
+
+    private void writeSnapshot(long sequence, List<Task> state) {
+        try {
+            long started = System.nanoTime();
+            TaskSnapshot.write(snapshotPath(sequence), state);
+            for (long older : list(SNAPSHOT)) {
+                if (older < sequence) {
+                    Files.deleteIfExists(snapshotPath(older));
+                }
+            }
+            for (long older : list(SEGMENT)) {
+                if (older < sequence) {
+                    Files.deleteIfExists(segmentPath(older));
+                }
+            }
+            log.info("Snapshot {} escrito: {} tareas en {} ms", sequence, state.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            // El log anterior sigue ahí: no se pierde nada, solo no se compacta
+            log.error("No se pudo escribir el snapshot {}", sequence, e);
+        } finally {
+            snapshotRunning.set(false);
+        }
+    }
+
+    // =========================================================================
+    // CIERRE
+    // =========================================================================
+
+    @Override
+    public void close() {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            if (current != null) {
+                current.force();
+                current.close();
+            }
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // =========================================================================
+    // FICHEROS
+    // =========================================================================
+
+    private Path segmentPath(long sequence) {
+        return directory.resolve("wal-%020d.log".formatted(sequence));
+    }
+
+    private Path snapshotPath(long sequence) {
+        return directory.resolve("snapshot-%020d.snap".formatted(sequence));
+    }
+
+    /**
+     * Números de secuencia de los ficheros que cumplen el patrón, ordenados.
+     */
+    private List<Long> list(Pattern pattern) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .map(file -> pattern.matcher(file.getFileName().toString()))
+                    .filter(Matcher::matches)
+                    .map(matcher -> Long.parseLong(matcher.group(1)))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+-- ============================================
+-- Migración: IDs por secuencia (pooled, incremento 50)
+-- ============================================
+
+-- Las entidades pasan de GenerationType.IDENTITY a secuencias para que
+-- Hibernate pueda agrupar los INSERT en lotes JDBC. Ejecutar una vez sobre
+-- CUALQUIER base de datos creada con la versión anterior antes de arrancar
+-- la aplicación, con cualquier perfil: con prod (ddl-auto=validate) el
+-- arranque falla sin las secuencias, y con dev (ddl-auto=update) Hibernate
+-- las crea empezando en 1 y los siguientes INSERT chocan con los IDs
+-- existentes.
+
+-- Si dev ya arrancó sobre la base antigua, ejecutar el script igualmente:
+-- las secuencias existentes se conservan y setval las avanza más allá del
+-- ID más alto.
+
+-- Cada secuencia empieza después del ID más alto existente. Con el
+-- optimizador pooled el valor devuelto es el extremo superior del bloque,
+-- así que el primer bloque será (MAX(id) + 1 .. MAX(id) + 50).
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS categories_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS products_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS orders_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS order_items_seq INCREMENT BY 50;
+
+SELECT setval('users_seq', COALESCE(MAX(id), 0) + 50, false) FROM users;
+SELECT setval('categories_seq', COALESCE(MAX(id), 0) + 50, false) FROM categories;
+SELECT setval('products_seq', COALESCE(MAX(id), 0) + 50, false) FROM products;
+SELECT setval('orders_seq', COALESCE(MAX(id), 0) + 50, false) FROM orders;
+SELECT setval('order_items_seq', COALESCE(MAX(id), 0) + 50, false) FROM order_items;
+
+-- Las columnas IDENTITY ya no generan valores: Hibernate envía el ID
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE categories ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE products ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+COMMIT;
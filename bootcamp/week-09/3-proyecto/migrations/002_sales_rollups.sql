@@ -0,0 +1,55 @@
+-- ============================================
+-- Migración: resúmenes diarios de ventas
+-- ============================================
+
+-- Tablas mantenidas de forma incremental por OrderService (paquete
+-- analytics). Ejecutar una vez antes de arrancar con ddl-auto=validate; el
+-- final del script carga los resúmenes con las órdenes existentes (lo mismo
+-- que POST /api/analytics/sales/rebuild).
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS daily_product_sales (
+    sales_date  DATE           NOT NULL,
+    product_id  BIGINT         NOT NULL,
+    category_id BIGINT         NOT NULL,
+    units       BIGINT         NOT NULL,
+    revenue     NUMERIC(14, 2) NOT NULL,
+    order_count BIGINT         NOT NULL,
+    PRIMARY KEY (sales_date, product_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_daily_product_sales_category
+    ON daily_product_sales (category_id, sales_date);
+
+CREATE TABLE IF NOT EXISTS daily_category_sales (
+    sales_date  DATE           NOT NULL,
+    category_id BIGINT         NOT NULL,
+    units       BIGINT         NOT NULL,
+    revenue     NUMERIC(14, 2) NOT NULL,
+    order_count BIGINT         NOT NULL,
+    PRIMARY KEY (sales_date, category_id)
+);
+
+DELETE FROM daily_product_sales;
+DELETE FROM daily_category_sales;
+
+INSERT INTO daily_product_sales (sales_date, product_id, category_id, units, revenue, order_count)
+SELECT CAST(o.created_at AS DATE), i.product_id, p.category_id,
+       SUM(i.quantity), SUM(i.subtotal), COUNT(DISTINCT o.id)
+FROM order_items i
+JOIN orders o ON o.id = i.order_id
+JOIN products p ON p.id = i.product_id
+WHERE o.status <> 'CANCELLED'
+GROUP BY CAST(o.created_at AS DATE), i.product_id, p.category_id;
+
+INSERT INTO daily_category_sales (sales_date, category_id, units, revenue, order_count)
+SELECT CAST(o.created_at AS DATE), p.category_id,
+       SUM(i.quantity), SUM(i.subtotal), COUNT(DISTINCT o.id)
+FROM order_items i
+JOIN orders o ON o.id = i.order_id
+JOIN products p ON p.id = i.product_id
+WHERE o.status <> 'CANCELLED'
+GROUP BY CAST(o.created_at AS DATE), p.category_id;
+
+COMMIT;
@@ -0,0 +1,29 @@
+-- ============================================
+-- Migración: outbox de eventos
+-- ============================================
+
+-- Eventos escritos en la misma transacción que la orden y entregados después
+-- por OutboxDispatcher. Ejecutar una vez antes de arrancar con
+-- ddl-auto=validate.
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id           BIGINT        PRIMARY KEY,
+    event_type   VARCHAR(100)  NOT NULL,
+    aggregate_id BIGINT,
+    payload      VARCHAR(4000) NOT NULL,
+    status       VARCHAR(20)   NOT NULL,
+    attempts     INTEGER       NOT NULL,
+    last_error   VARCHAR(1000),
+    created_at   TIMESTAMP(6)  NOT NULL,
+    available_at TIMESTAMP(6)  NOT NULL,
+    processed_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_events_status_available_at
+    ON outbox_events (status, available_at);
+
+COMMIT;
@@ -0,0 +1,25 @@
+-- ============================================
+-- Migración: columnas de versión (bloqueo optimista)
+-- ============================================
+
+-- Product y Order usan @Version y los UPDATE de stock incrementan
+-- version = version + 1. Ejecutar una vez antes de arrancar con
+-- ddl-auto=validate.
+
+-- Si ddl-auto=update ya creó la columna (nullable, con NULL en las filas
+-- existentes), se rellena con 0 y se vuelve NOT NULL: con NULL el
+-- incremento dejaría la versión siempre a NULL.
+
+BEGIN;
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+UPDATE products SET version = 0 WHERE version IS NULL;
+ALTER TABLE products ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE products ALTER COLUMN version SET NOT NULL;
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+UPDATE orders SET version = 0 WHERE version IS NULL;
+ALTER TABLE orders ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE orders ALTER COLUMN version SET NOT NULL;
+
+COMMIT;
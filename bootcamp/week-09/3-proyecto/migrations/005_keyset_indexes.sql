@@ -0,0 +1,16 @@
+-- ============================================
+-- Migración: índices para la paginación por cursor
+-- ============================================
+
+-- Las consultas por cursor (created_at, id) de productos y de "mis pedidos"
+-- solo evitan el recorrido completo y la ordenación si existen estos
+-- índices. Con ddl-auto=validate Hibernate no los crea: ejecutar una vez.
+
+-- CONCURRENTLY no bloquea las escrituras mientras se construye el índice,
+-- pero no puede ir dentro de BEGIN/COMMIT.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_created_at_id
+    ON products (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_user_created_at_id
+    ON orders (user_id, created_at, id);
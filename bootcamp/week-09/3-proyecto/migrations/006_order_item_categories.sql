@@ -0,0 +1,45 @@
+-- ============================================
+-- Migración: categoría de cada item de pedido
+-- ============================================
+
+-- Los resúmenes de ventas usan la categoría que tenía el producto al hacer
+-- el pedido (order_items.category_id), no la actual: recategorizar un
+-- producto ya no desvía las cancelaciones ni los recálculos. Ejecutar una
+-- vez antes de arrancar con ddl-auto=validate.
+
+-- Los items existentes toman la categoría actual del producto (no se
+-- guardaba la anterior). daily_product_sales pasa a tener una fila por
+-- producto y categoría, y ambos resúmenes se recalculan con el criterio
+-- nuevo (lo mismo que POST /api/analytics/sales/rebuild).
+
+BEGIN;
+
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS category_id BIGINT;
+UPDATE order_items i SET category_id = p.category_id
+FROM products p
+WHERE p.id = i.product_id AND i.category_id IS NULL;
+ALTER TABLE order_items ALTER COLUMN category_id SET NOT NULL;
+
+ALTER TABLE daily_product_sales DROP CONSTRAINT IF EXISTS daily_product_sales_pkey;
+ALTER TABLE daily_product_sales ADD PRIMARY KEY (sales_date, product_id, category_id);
+
+DELETE FROM daily_product_sales;
+DELETE FROM daily_category_sales;
+
+INSERT INTO daily_product_sales (sales_date, product_id, category_id, units, revenue, order_count)
+SELECT CAST(o.created_at AS DATE), i.product_id, i.category_id,
+       SUM(i.quantity), SUM(i.subtotal), COUNT(DISTINCT o.id)
+FROM order_items i
+JOIN orders o ON o.id = i.order_id
+WHERE o.status <> 'CANCELLED'
+GROUP BY CAST(o.created_at AS DATE), i.product_id, i.category_id;
+
+INSERT INTO daily_category_sales (sales_date, category_id, units, revenue, order_count)
+SELECT CAST(o.created_at AS DATE), i.category_id,
+       SUM(i.quantity), SUM(i.subtotal), COUNT(DISTINCT o.id)
+FROM order_items i
+JOIN orders o ON o.id = i.order_id
+WHERE o.status <> 'CANCELLED'
+GROUP BY CAST(o.created_at AS DATE), i.category_id;
+
+COMMIT;
@@ -0,0 +1,13 @@
+-- ============================================
+-- Migración: entregas del outbox por handler
+-- ============================================
+
+-- OutboxDispatcher guarda qué handlers han procesado cada evento para no
+-- repetirlos al reintentar. Ejecutar una vez antes de arrancar con
+-- ddl-auto=validate.
+
+BEGIN;
+
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS delivered_handlers VARCHAR(1000);
+
+COMMIT;
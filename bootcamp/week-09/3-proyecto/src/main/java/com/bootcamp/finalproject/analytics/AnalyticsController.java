@@ -0,0 +1,60 @@
+package com.bootcamp.finalproject.analytics;
+
+import com.bootcamp.finalproject.analytics.dto.CategorySalesResponse;
+import com.bootcamp.finalproject.analytics.dto.ProductSalesResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controlador REST para la analítica de ventas.
+ */
+@RestController
+@RequestMapping("/api/analytics/sales")
+@Tag(name = "Analítica", description = "Ventas por producto y categoría")
+public class AnalyticsController {
+
+    private final SalesRollupService salesRollupService;
+
+    public AnalyticsController(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    @GetMapping("/products")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Ventas por producto en un rango de fechas (Admin)",
+        description = "Fechas inclusivas en formato ISO; categoryId filtra opcionalmente por categoría"
+    )
+    public ResponseEntity<List<ProductSalesResponse>> findProductSales(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+        @RequestParam(required = false) Long categoryId
+    ) {
+        return ResponseEntity.ok(salesRollupService.findProductSales(from, to, categoryId));
+    }
+
+    @GetMapping("/categories")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Ventas por categoría en un rango de fechas (Admin)")
+    public ResponseEntity<List<CategorySalesResponse>> findCategorySales(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(salesRollupService.findCategorySales(from, to));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Recalcular los resúmenes de ventas desde las órdenes (Admin)")
+    public ResponseEntity<Void> rebuild() {
+        salesRollupService.rebuild();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.bootcamp.finalproject.analytics;
+
+import com.bootcamp.finalproject.common.money.Money;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Resumen diario de ventas por categoría.
+ *
+ * Se guarda aparte del resumen por producto porque el número de órdenes de una
+ * categoría no es la suma de sus productos: una orden con varios productos de
+ * la misma categoría cuenta una sola vez.
+ */
+@Entity
+@Table(name = "daily_category_sales")
+@IdClass(DailyCategorySales.Key.class)
+public class DailyCategorySales {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private Money revenue;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    protected DailyCategorySales() {}
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public static class Key implements Serializable {
+
+        private LocalDate salesDate;
+        private Long categoryId;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key
+                && Objects.equals(salesDate, key.salesDate)
+                && Objects.equals(categoryId, key.categoryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(salesDate, categoryId);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.bootcamp.finalproject.analytics;
+
+import com.bootcamp.finalproject.common.money.Money;
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Resumen diario de ventas por producto.
+ *
+ * Se mantiene de forma incremental desde OrderService (SalesRollupRepository);
+ * la entidad existe para definir la tabla y no se modifica a través de JPA.
+ * La categoría es la que tenía el producto al hacer cada pedido (guardada en
+ * order_items): si se recategoriza, sus ventas del día quedan en dos filas.
+ */
+@Entity
+@Table(name = "daily_product_sales", indexes = {
+    @Index(name = "idx_daily_product_sales_category", columnList = "category_id, sales_date")
+})
+@IdClass(DailyProductSales.Key.class)
+public class DailyProductSales {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate salesDate;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "category_id")
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private Money revenue;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    protected DailyProductSales() {}
+
+    public LocalDate getSalesDate() {
+        return salesDate;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public long getUnits() {
+        return units;
+    }
+
+    public Money getRevenue() {
+        return revenue;
+    }
+
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    public static class Key implements Serializable {
+
+        private LocalDate salesDate;
+        private Long productId;
+        private Long categoryId;
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key key
+                && Objects.equals(salesDate, key.salesDate)
+                && Objects.equals(productId, key.productId)
+                && Objects.equals(categoryId, key.categoryId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(salesDate, productId, categoryId);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.bootcamp.finalproject.analytics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reconstrucción periódica de los resúmenes de ventas.
+ *
+ * Corrige cualquier desviación (por ejemplo, órdenes cargadas fuera de
+ * OrderService). Está desactivada por defecto: se activa con una expresión cron
+ * en {@code analytics.rollup.rebuild-cron}, idealmente en horas de poco tráfico.
+ */
+@Component
+public class SalesRollupRebuildJob {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRollupRebuildJob.class);
+
+    private final SalesRollupService salesRollupService;
+
+    public SalesRollupRebuildJob(SalesRollupService salesRollupService) {
+        this.salesRollupService = salesRollupService;
+    }
+
+    @Scheduled(cron = "${analytics.rollup.rebuild-cron:-}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        salesRollupService.rebuild();
+        log.info("Resúmenes de ventas reconstruidos en {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
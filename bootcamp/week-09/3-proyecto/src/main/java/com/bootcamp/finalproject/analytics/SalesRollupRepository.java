@@ -0,0 +1,177 @@
+package com.bootcamp.finalproject.analytics;
+
+import com.bootcamp.finalproject.analytics.dto.CategorySalesResponse;
+import com.bootcamp.finalproject.analytics.dto.ProductSalesResponse;
+import com.bootcamp.finalproject.common.money.Money;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.DataClassRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acceso por SQL directo a los resúmenes diarios de ventas.
+ *
+ * Los incrementos son un UPDATE {@code columna = columna + ?} en batch; solo
+ * las filas que aún no existen se insertan. Si otra transacción inserta la
+ * misma fila a la vez, el conflicto se notifica como error de concurrencia
+ * para que OrderService reintente la operación completa.
+ */
+@Repository
+public class SalesRollupRepository {
+
+    private static final String UPDATE_PRODUCT_SQL =
+        "UPDATE daily_product_sales SET units = units + ?, revenue = revenue + ?, order_count = order_count + ? "
+            + "WHERE sales_date = ? AND product_id = ? AND category_id = ?";
+
+    private static final String INSERT_PRODUCT_SQL =
+        "INSERT INTO daily_product_sales (sales_date, product_id, category_id, units, revenue, order_count) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_CATEGORY_SQL =
+        "UPDATE daily_category_sales SET units = units + ?, revenue = revenue + ?, order_count = order_count + ? "
+            + "WHERE sales_date = ? AND category_id = ?";
+
+    private static final String INSERT_CATEGORY_SQL =
+        "INSERT INTO daily_category_sales (sales_date, category_id, units, revenue, order_count) "
+            + "VALUES (?, ?, ?, ?, ?)";
+
+    private static final String REBUILD_PRODUCT_SQL = """
+        INSERT INTO daily_product_sales (sales_date, product_id, category_id, units, revenue, order_count)
+        SELECT CAST(o.created_at AS DATE), i.product_id, i.category_id,
+               SUM(i.quantity), SUM(i.subtotal), COUNT(DISTINCT o.id)
+        FROM order_items i
+        JOIN orders o ON o.id = i.order_id
+        WHERE o.status <> 'CANCELLED'
+        GROUP BY CAST(o.created_at AS DATE), i.product_id, i.category_id
+        """;
+
+    private static final String REBUILD_CATEGORY_SQL = """
+        INSERT INTO daily_category_sales (sales_date, category_id, units, revenue, order_count)
+        SELECT CAST(o.created_at AS DATE), i.category_id,
+               SUM(i.quantity), SUM(i.subtotal), COUNT(DISTINCT o.id)
+        FROM order_items i
+        JOIN orders o ON o.id = i.order_id
+        WHERE o.status <> 'CANCELLED'
+        GROUP BY CAST(o.created_at AS DATE), i.category_id
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SalesRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Suma los deltas a los resúmenes del día. Los deltas deben venir ordenados
+     * por ID para que transacciones concurrentes bloqueen las filas en el mismo
+     * orden.
+     */
+    public void apply(LocalDate day, List<ProductDelta> products, List<CategoryDelta> categories) {
+        Date date = Date.valueOf(day);
+
+        List<ProductDelta> missingProducts = missing(products, jdbcTemplate.batchUpdate(
+            UPDATE_PRODUCT_SQL, products, products.size(), (ps, delta) -> {
+                ps.setLong(1, delta.units());
+                ps.setBigDecimal(2, delta.revenue().toBigDecimal());
+                ps.setLong(3, delta.orders());
+                ps.setDate(4, date);
+                ps.setLong(5, delta.productId());
+                ps.setLong(6, delta.categoryId());
+            }));
+        List<CategoryDelta> missingCategories = missing(categories, jdbcTemplate.batchUpdate(
+            UPDATE_CATEGORY_SQL, categories, categories.size(), (ps, delta) -> {
+                ps.setLong(1, delta.units());
+                ps.setBigDecimal(2, delta.revenue().toBigDecimal());
+                ps.setLong(3, delta.orders());
+                ps.setDate(4, date);
+                ps.setLong(5, delta.categoryId());
+            }));
+
+        try {
+            if (!missingProducts.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_PRODUCT_SQL, missingProducts, missingProducts.size(), (ps, delta) -> {
+                    ps.setDate(1, date);
+                    ps.setLong(2, delta.productId());
+                    ps.setLong(3, delta.categoryId());
+                    ps.setLong(4, delta.units());
+                    ps.setBigDecimal(5, delta.revenue().toBigDecimal());
+                    ps.setLong(6, delta.orders());
+                });
+            }
+            if (!missingCategories.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_CATEGORY_SQL, missingCategories, missingCategories.size(), (ps, delta) -> {
+                    ps.setDate(1, date);
+                    ps.setLong(2, delta.categoryId());
+                    ps.setLong(3, delta.units());
+                    ps.setBigDecimal(4, delta.revenue().toBigDecimal());
+                    ps.setLong(5, delta.orders());
+                });
+            }
+        } catch (DuplicateKeyException ex) {
+            throw new ConcurrencyFailureException("Resumen de ventas creado por otra transacción", ex);
+        }
+    }
+
+    /**
+     * Vuelve a calcular todos los resúmenes a partir de orders y order_items.
+     */
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM daily_product_sales");
+        jdbcTemplate.update("DELETE FROM daily_category_sales");
+        jdbcTemplate.update(REBUILD_PRODUCT_SQL);
+        jdbcTemplate.update(REBUILD_CATEGORY_SQL);
+    }
+
+    public List<ProductSalesResponse> findProductSales(LocalDate from, LocalDate to, Long categoryId) {
+        String sql = "SELECT product_id, category_id, SUM(units) AS units, SUM(revenue) AS revenue, "
+            + "SUM(order_count) AS order_count FROM daily_product_sales WHERE sales_date BETWEEN ? AND ? "
+            + (categoryId != null ? "AND category_id = ? " : "")
+            + "GROUP BY product_id, category_id HAVING SUM(order_count) > 0 "
+            + "ORDER BY SUM(revenue) DESC, product_id";
+        List<Object> args = new ArrayList<>(List.of(Date.valueOf(from), Date.valueOf(to)));
+        if (categoryId != null) {
+            args.add(categoryId);
+        }
+        return jdbcTemplate.query(sql, new DataClassRowMapper<>(ProductSalesResponse.class), args.toArray());
+    }
+
+    public List<CategorySalesResponse> findCategorySales(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+            "SELECT category_id, SUM(units) AS units, SUM(revenue) AS revenue, SUM(order_count) AS order_count "
+                + "FROM daily_category_sales WHERE sales_date BETWEEN ? AND ? "
+                + "GROUP BY category_id HAVING SUM(order_count) > 0 ORDER BY SUM(revenue) DESC, category_id",
+            new DataClassRowMapper<>(CategorySalesResponse.class),
+            Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private static <T> List<T> missing(List<T> deltas, int[][] updateCounts) {
+        List<T> missing = new ArrayList<>();
+        int index = 0;
+        for (int[] batch : updateCounts) {
+            for (int count : batch) {
+                if (count == 0) {
+                    missing.add(deltas.get(index));
+                }
+                index++;
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Variación de las ventas de un producto en un día, dentro de la categoría
+     * que tenía al hacer el pedido.
+     */
+    public record ProductDelta(Long productId, Long categoryId, long units, Money revenue, long orders) {}
+
+    /**
+     * Variación de las ventas de una categoría en un día.
+     */
+    public record CategoryDelta(Long categoryId, long units, Money revenue, long orders) {}
+}
@@ -0,0 +1,130 @@
+package com.bootcamp.finalproject.analytics;
+
+import com.bootcamp.finalproject.analytics.SalesRollupRepository.CategoryDelta;
+import com.bootcamp.finalproject.analytics.SalesRollupRepository.ProductDelta;
+import com.bootcamp.finalproject.analytics.dto.CategorySalesResponse;
+import com.bootcamp.finalproject.analytics.dto.ProductSalesResponse;
+import com.bootcamp.finalproject.common.exception.BadRequestException;
+import com.bootcamp.finalproject.common.money.Money;
+import com.bootcamp.finalproject.order.Order;
+import com.bootcamp.finalproject.order.OrderItem;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Analítica de ventas sobre resúmenes diarios por producto y categoría.
+ *
+ * OrderService notifica cada orden que empieza o deja de contar como venta
+ * (creación, cancelación o cambio de estado desde/hacia CANCELLED) dentro de su
+ * propia transacción, así que los resúmenes confirman o se revierten junto con
+ * la orden. Las consultas por rango leen solo las tablas de resumen.
+ */
+@Service
+public class SalesRollupService {
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    public SalesRollupService(SalesRollupRepository salesRollupRepository) {
+        this.salesRollupRepository = salesRollupRepository;
+    }
+
+    /**
+     * Suma una orden a las ventas del día en que se creó.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderPlaced(Order order) {
+        apply(order, 1);
+    }
+
+    /**
+     * Resta una orden (cancelada) de las ventas del día en que se creó.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCancelled(Order order) {
+        apply(order, -1);
+    }
+
+    /**
+     * Descarta los resúmenes y los recalcula desde las órdenes.
+     */
+    @Transactional
+    public void rebuild() {
+        salesRollupRepository.rebuild();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSalesResponse> findProductSales(LocalDate from, LocalDate to, Long categoryId) {
+        validateRange(from, to);
+        return salesRollupRepository.findProductSales(from, to, categoryId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CategorySalesResponse> findCategorySales(LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        return salesRollupRepository.findCategorySales(from, to);
+    }
+
+    private void apply(Order order, int sign) {
+        // Agrupar por producto y categoría, ordenados por ID para evitar deadlocks
+        SortedMap<ProductKey, Totals> products = new TreeMap<>();
+        SortedMap<Long, Totals> categories = new TreeMap<>();
+        for (OrderItem item : order.getItems()) {
+            // La categoría guardada en el item, no la actual del producto: una
+            // cancelación resta de la misma categoría a la que sumó el pedido
+            Long categoryId = item.getCategoryId();
+            products.computeIfAbsent(new ProductKey(item.getProduct().getId(), categoryId), key -> new Totals())
+                .add(item);
+            categories.computeIfAbsent(categoryId, id -> new Totals()).add(item);
+        }
+
+        List<ProductDelta> productDeltas = new ArrayList<>(products.size());
+        for (Map.Entry<ProductKey, Totals> entry : products.entrySet()) {
+            Totals totals = entry.getValue();
+            productDeltas.add(new ProductDelta(entry.getKey().productId(), entry.getKey().categoryId(),
+                sign * totals.units, totals.revenue.times(sign), sign));
+        }
+
+        List<CategoryDelta> categoryDeltas = new ArrayList<>(categories.size());
+        for (Map.Entry<Long, Totals> entry : categories.entrySet()) {
+            Totals totals = entry.getValue();
+            categoryDeltas.add(new CategoryDelta(
+                entry.getKey(), sign * totals.units, totals.revenue.times(sign), sign));
+        }
+
+        salesRollupRepository.apply(order.getCreatedAt().toLocalDate(), productDeltas, categoryDeltas);
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BadRequestException("La fecha inicial no puede ser posterior a la final");
+        }
+    }
+
+    private record ProductKey(Long productId, Long categoryId) implements Comparable<ProductKey> {
+
+        @Override
+        public int compareTo(ProductKey other) {
+            int byProduct = productId.compareTo(other.productId);
+            return byProduct != 0 ? byProduct : categoryId.compareTo(other.categoryId);
+        }
+    }
+
+    private static class Totals {
+
+        long units;
+        Money revenue = Money.ZERO;
+
+        void add(OrderItem item) {
+            units += item.getQuantity();
+            revenue = revenue.plus(item.getSubtotal());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.bootcamp.finalproject.analytics.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO con las ventas de una categoría en un rango de fechas.
+ */
+public record CategorySalesResponse(
+    Long categoryId,
+    long units,
+    BigDecimal revenue,
+    long orderCount
+) {}
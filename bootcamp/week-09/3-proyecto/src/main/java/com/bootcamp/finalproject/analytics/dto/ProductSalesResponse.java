@@ -0,0 +1,14 @@
+package com.bootcamp.finalproject.analytics.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO con las ventas de un producto en un rango de fechas.
+ */
+public record ProductSalesResponse(
+    Long productId,
+    Long categoryId,
+    long units,
+    BigDecimal revenue,
+    long orderCount
+) {}
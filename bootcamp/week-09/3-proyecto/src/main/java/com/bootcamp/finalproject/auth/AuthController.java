@@ -14,6 +14,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Controlador de autenticación.
  */
@@ -33,11 +35,12 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Usuario registrado exitosamente",
             content = @Content(schema = @Schema(implementation = AuthResponse.class))),
-        @ApiResponse(responseCode = "400", description = "Datos inválidos o email ya registrado")
+        @ApiResponse(responseCode = "400", description = "Datos inválidos o email ya registrado"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas solicitudes de autenticación en curso")
     })
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
-        AuthResponse response = authService.register(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> register(@Valid @RequestBody RegisterRequest request) {
+        return authService.register(request)
+            .thenApply(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
     @PostMapping("/login")
@@ -45,10 +48,10 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Login exitoso",
             content = @Content(schema = @Schema(implementation = AuthResponse.class))),
-        @ApiResponse(responseCode = "401", description = "Credenciales inválidas")
+        @ApiResponse(responseCode = "401", description = "Credenciales inválidas"),
+        @ApiResponse(responseCode = "503", description = "Demasiadas solicitudes de autenticación en curso")
     })
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = authService.login(request);
-        return ResponseEntity.ok(response);
+    public CompletableFuture<ResponseEntity<AuthResponse>> login(@Valid @RequestBody LoginRequest request) {
+        return authService.login(request).thenApply(ResponseEntity::ok);
     }
 }
@@ -5,17 +5,28 @@ import com.bootcamp.finalproject.auth.dto.LoginRequest;
 import com.bootcamp.finalproject.auth.dto.RegisterRequest;
 import com.bootcamp.finalproject.common.exception.BadRequestException;
 import com.bootcamp.finalproject.security.jwt.JwtService;
+import com.bootcamp.finalproject.security.password.PasswordHashingExecutor;
 import com.bootcamp.finalproject.user.Role;
 import com.bootcamp.finalproject.user.User;
 import com.bootcamp.finalproject.user.UserRepository;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.authentication.AccountStatusUserDetailsChecker;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Servicio de autenticación.
+ *
+ * Solo el hashing y la verificación de contraseñas se ejecutan en el pool
+ * {@link PasswordHashingExecutor}. La búsqueda del usuario se hace en el hilo
+ * de la petición y los guardados en {@code applicationTaskExecutor}: la latencia
+ * de la base de datos no ocupa los hilos de CPU del hashing.
  */
 @Service
 public class AuthService {
@@ -23,48 +34,81 @@ public class AuthService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final Executor taskExecutor;
+    private final UserDetailsChecker accountStatusChecker = new AccountStatusUserDetailsChecker();
+
+    // Hash con el que se verifica cuando el email no existe, para que la respuesta
+    // tarde lo mismo y no revele qué emails están registrados
+    private final String missingUserHash;
 
     public AuthService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         JwtService jwtService,
-        AuthenticationManager authenticationManager
+        PasswordHashingExecutor hashingExecutor,
+        @Qualifier("applicationTaskExecutor") Executor taskExecutor
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
-        this.authenticationManager = authenticationManager;
+        this.hashingExecutor = hashingExecutor;
+        this.taskExecutor = taskExecutor;
+        this.missingUserHash = passwordEncoder.encode("userNotFoundPassword");
     }
 
-    @Transactional
-    public AuthResponse register(RegisterRequest request) {
+    public CompletableFuture<AuthResponse> register(RegisterRequest request) {
         if (userRepository.existsByEmail(request.email())) {
             throw new BadRequestException("El email ya está registrado");
         }
 
-        User user = new User();
-        user.setName(request.name());
-        user.setEmail(request.email());
-        user.setPassword(passwordEncoder.encode(request.password()));
-        user.setRole(Role.USER);
-        user.setActive(true);
-
-        userRepository.save(user);
+        return hashingExecutor.submit(() -> passwordEncoder.encode(request.password()))
+            .thenApplyAsync(encodedPassword -> {
+                User user = new User();
+                user.setName(request.name());
+                user.setEmail(request.email());
+                user.setPassword(encodedPassword);
+                user.setRole(Role.USER);
+                user.setActive(true);
 
-        String token = jwtService.generateToken(user);
-        return new AuthResponse(token, user.getEmail(), user.getName(), user.getRole().name());
+                return toResponse(userRepository.save(user));
+            }, taskExecutor);
     }
 
-    public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.email(), request.password())
-        );
+    public CompletableFuture<AuthResponse> login(LoginRequest request) {
+        Optional<User> found = userRepository.findByEmail(request.email());
+        found.ifPresent(accountStatusChecker::check);
+        String storedHash = found.map(User::getPassword).orElse(missingUserHash);
 
-        User user = userRepository.findByEmail(request.email())
-            .orElseThrow(() -> new BadRequestException("Usuario no encontrado"));
+        return hashingExecutor.submit(() -> verify(request.password(), storedHash))
+            .thenApplyAsync(verification -> {
+                User user = found.filter(u -> verification.matched())
+                    .orElseThrow(() -> new BadCredentialsException("Credenciales inválidas"));
+                // Re-hashea las contraseñas con un algoritmo o coste anterior
+                if (verification.upgradedHash() != null) {
+                    user.setPassword(verification.upgradedHash());
+                    user = userRepository.save(user);
+                }
+                return toResponse(user);
+            }, taskExecutor);
+    }
 
+    /**
+     * Comprueba la contraseña y, si el hash está desactualizado, calcula el nuevo.
+     * Se ejecuta en el pool de hashing: solo CPU, sin acceso a la base de datos.
+     */
+    private Verification verify(String rawPassword, String storedHash) {
+        if (!passwordEncoder.matches(rawPassword, storedHash)) {
+            return new Verification(false, null);
+        }
+        String upgradedHash = passwordEncoder.upgradeEncoding(storedHash) ? passwordEncoder.encode(rawPassword) : null;
+        return new Verification(true, upgradedHash);
+    }
+
+    private AuthResponse toResponse(User user) {
         String token = jwtService.generateToken(user);
         return new AuthResponse(token, user.getEmail(), user.getName(), user.getRole().name());
     }
+
+    private record Verification(boolean matched, String upgradedHash) {}
 }
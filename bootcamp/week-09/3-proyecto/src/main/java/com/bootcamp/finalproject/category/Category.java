@@ -15,7 +15,8 @@ import java.util.List;
 public class Category extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "categories_seq")
+    @SequenceGenerator(name = "categories_seq", sequenceName = "categories_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, unique = true, length = 100)
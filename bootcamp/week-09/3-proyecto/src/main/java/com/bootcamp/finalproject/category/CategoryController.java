@@ -2,17 +2,23 @@ package com.bootcamp.finalproject.category;
 
 import com.bootcamp.finalproject.category.dto.CategoryRequest;
 import com.bootcamp.finalproject.category.dto.CategoryResponse;
+import com.bootcamp.finalproject.common.web.ConditionalGet;
+import com.bootcamp.finalproject.product.CatalogVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
 /**
  * Controlador REST para categorías.
+ *
+ * Las lecturas usan la versión del catálogo como ETag, ya que el número de
+ * productos de cada categoría cambia con las escrituras de productos.
  */
 @RestController
 @RequestMapping("/api/categories")
@@ -20,21 +26,23 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final CatalogVersion catalogVersion;
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogVersion catalogVersion) {
         this.categoryService = categoryService;
+        this.catalogVersion = catalogVersion;
     }
 
     @GetMapping
     @Operation(summary = "Listar todas las categorías activas")
-    public ResponseEntity<List<CategoryResponse>> findAll() {
-        return ResponseEntity.ok(categoryService.findAllActive());
+    public ResponseEntity<List<CategoryResponse>> findAll(WebRequest request) {
+        return ConditionalGet.respond(request, catalogVersion.catalog(), categoryService::findAllActive);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtener categoría por ID")
-    public ResponseEntity<CategoryResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(categoryService.findById(id));
+    public ResponseEntity<CategoryResponse> findById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, catalogVersion.catalog(), () -> categoryService.findById(id));
     }
 
     @PostMapping
@@ -0,0 +1,6 @@
+package com.bootcamp.finalproject.category;
+
+/**
+ * Número de productos activos de una categoría.
+ */
+public record CategoryProductCount(Long categoryId, Long productCount) {}
@@ -1,8 +1,12 @@
 package com.bootcamp.finalproject.category;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +21,15 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     List<Category> findByActiveTrue();
 
     boolean existsByName(String name);
+
+    /**
+     * Cuenta los productos activos de varias categorías con una única consulta
+     * agregada; las categorías sin productos no aparecen en el resultado.
+     */
+    @Query("SELECT new com.bootcamp.finalproject.category.CategoryProductCount(p.category.id, COUNT(p)) "
+        + "FROM Product p WHERE p.active = true AND p.category.id IN :categoryIds GROUP BY p.category.id")
+    List<CategoryProductCount> countActiveProducts(@Param("categoryIds") Collection<Long> categoryIds);
+
+    @Query("SELECT MAX(c.updatedAt) FROM Category c")
+    Optional<LocalDateTime> findLastUpdatedAt();
 }
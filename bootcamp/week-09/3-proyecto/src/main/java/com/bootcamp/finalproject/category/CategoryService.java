@@ -4,10 +4,14 @@ import com.bootcamp.finalproject.category.dto.CategoryRequest;
 import com.bootcamp.finalproject.category.dto.CategoryResponse;
 import com.bootcamp.finalproject.common.exception.BadRequestException;
 import com.bootcamp.finalproject.common.exception.ResourceNotFoundException;
+import com.bootcamp.finalproject.product.CatalogVersion;
+import com.bootcamp.finalproject.product.ProductCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio para gestión de categorías.
@@ -16,23 +20,27 @@ import java.util.List;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
-
-    public CategoryService(CategoryRepository categoryRepository) {
+    private final ProductCache productCache;
+    private final CatalogVersion catalogVersion;
+
+    public CategoryService(
+        CategoryRepository categoryRepository,
+        ProductCache productCache,
+        CatalogVersion catalogVersion
+    ) {
         this.categoryRepository = categoryRepository;
+        this.productCache = productCache;
+        this.catalogVersion = catalogVersion;
     }
 
     @Transactional(readOnly = true)
     public List<CategoryResponse> findAll() {
-        return categoryRepository.findAll().stream()
-            .map(this::toResponse)
-            .toList();
+        return toResponses(categoryRepository.findAll());
     }
 
     @Transactional(readOnly = true)
     public List<CategoryResponse> findAllActive() {
-        return categoryRepository.findByActiveTrue().stream()
-            .map(this::toResponse)
-            .toList();
+        return toResponses(categoryRepository.findByActiveTrue());
     }
 
     @Transactional(readOnly = true)
@@ -53,7 +61,8 @@ public class CategoryService {
         category.setDescription(request.description());
         category.setActive(true);
 
-        return toResponse(categoryRepository.save(category));
+        catalogVersion.changed(List.of());
+        return toResponse(categoryRepository.save(category), 0);
     }
 
     @Transactional
@@ -71,6 +80,9 @@ public class CategoryService {
         category.setName(request.name());
         category.setDescription(request.description());
 
+        // Las respuestas de producto incluyen el nombre de la categoría
+        productCache.invalidateAll();
+
         return toResponse(categoryRepository.save(category));
     }
 
@@ -82,15 +94,37 @@ public class CategoryService {
         // Soft delete
         category.setActive(false);
         categoryRepository.save(category);
+        catalogVersion.changed(List.of());
+    }
+
+    // El número de productos se obtiene con una consulta agregada: recorrer
+    // category.getProducts() cargaría todos los productos de cada categoría.
+
+    private List<CategoryResponse> toResponses(List<Category> categories) {
+        if (categories.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        for (CategoryProductCount count : categoryRepository.countActiveProducts(
+            categories.stream().map(Category::getId).toList())) {
+            counts.put(count.categoryId(), count.productCount());
+        }
+        return categories.stream()
+            .map(category -> toResponse(category, counts.getOrDefault(category.getId(), 0L)))
+            .toList();
     }
 
     private CategoryResponse toResponse(Category category) {
+        return toResponses(List.of(category)).get(0);
+    }
+
+    private CategoryResponse toResponse(Category category, long productCount) {
         return new CategoryResponse(
             category.getId(),
             category.getName(),
             category.getDescription(),
             category.getActive(),
-            category.getProducts() != null ? category.getProducts().size() : 0,
+            Math.toIntExact(productCount),
             category.getCreatedAt()
         );
     }
@@ -2,6 +2,7 @@ package com.bootcamp.finalproject.common.audit;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * Clase base abstracta para entidades auditables.
@@ -18,13 +19,21 @@ public abstract class AuditableEntity {
 
     @PrePersist
     protected void onCreate() {
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAt = now();
+        this.updatedAt = this.createdAt;
     }
 
     @PreUpdate
     protected void onUpdate() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAt = now();
+    }
+
+    /**
+     * Fecha actual truncada a microsegundos, la precisión de TIMESTAMP en la base de datos.
+     * Así el valor en memoria coincide con el almacenado (necesario para los cursores keyset).
+     */
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     public LocalDateTime getCreatedAt() {
@@ -3,10 +3,14 @@ package com.bootcamp.finalproject.common.exception;
 import com.bootcamp.finalproject.common.dto.ErrorResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -36,6 +40,52 @@ public class GlobalExceptionHandler {
             .body(new ErrorResponse(ex.getMessage(), "BAD_REQUEST"));
     }
 
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStock(InsufficientStockException ex) {
+        log.warn("Stock insuficiente: {}", ex.getShortages());
+        List<ErrorResponse.FieldError> errors = ex.getShortages()
+            .stream()
+            .map(shortage -> new ErrorResponse.FieldError(
+                "items[productId=" + shortage.productId() + "]",
+                "Stock insuficiente para el producto: " + shortage.productName()
+                    + " (solicitado: " + shortage.requested() + ", disponible: " + shortage.available() + ")"
+            ))
+            .toList();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+            .body(new ErrorResponse(ex.getMessage(), "INSUFFICIENT_STOCK", errors));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+        log.warn("Idempotency-Key reutilizada: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+            .body(new ErrorResponse(ex.getMessage(), "IDEMPOTENCY_KEY_REUSED"));
+    }
+
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyFailure(ConcurrencyFailureException ex) {
+        log.warn("Conflicto de concurrencia: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+            .body(new ErrorResponse("El recurso fue modificado por otra operación, intenta de nuevo", "CONFLICT"));
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailable(ServiceUnavailableException ex) {
+        log.warn("Servicio saturado: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new ErrorResponse(ex.getMessage(), "SERVICE_UNAVAILABLE"));
+    }
+
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ErrorResponse> handleConnectionUnavailable(Exception ex) {
+        log.warn("Sin conexión disponible a la base de datos: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(new ErrorResponse("Servicio saturado, intenta de nuevo", "SERVICE_UNAVAILABLE"));
+    }
+
     @ExceptionHandler(BadCredentialsException.class)
     public ResponseEntity<ErrorResponse> handleBadCredentials(BadCredentialsException ex) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
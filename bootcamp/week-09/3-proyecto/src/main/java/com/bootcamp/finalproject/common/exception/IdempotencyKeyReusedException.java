@@ -0,0 +1,11 @@
+package com.bootcamp.finalproject.common.exception;
+
+/**
+ * Excepción cuando se reutiliza una Idempotency-Key con otra petición (422).
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    public IdempotencyKeyReusedException() {
+        super("La Idempotency-Key ya se usó con una petición distinta");
+    }
+}
@@ -0,0 +1,26 @@
+package com.bootcamp.finalproject.common.exception;
+
+import java.util.List;
+
+/**
+ * Excepción para pedidos con stock insuficiente (400).
+ * Incluye el detalle de cada producto que no pudo reservarse.
+ */
+public class InsufficientStockException extends BadRequestException {
+
+    private final List<StockShortage> shortages;
+
+    public InsufficientStockException(List<StockShortage> shortages) {
+        super("Stock insuficiente para " + shortages.size() + " producto(s)");
+        this.shortages = List.copyOf(shortages);
+    }
+
+    public List<StockShortage> getShortages() {
+        return shortages;
+    }
+
+    /**
+     * Detalle de un producto sin stock suficiente.
+     */
+    public record StockShortage(Long productId, String productName, int requested, int available) {}
+}
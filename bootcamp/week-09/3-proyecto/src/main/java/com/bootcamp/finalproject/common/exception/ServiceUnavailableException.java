@@ -0,0 +1,11 @@
+package com.bootcamp.finalproject.common.exception;
+
+/**
+ * Excepción para servicios temporalmente saturados (503).
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,130 @@
+package com.bootcamp.finalproject.common.idempotency;
+
+import com.bootcamp.finalproject.common.exception.BadRequestException;
+import com.bootcamp.finalproject.common.exception.IdempotencyKeyReusedException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Registro de operaciones idempotentes por Idempotency-Key.
+ *
+ * Guarda, por ámbito y clave, la huella de la petición y su resultado. Una
+ * repetición con la misma huella devuelve el resultado guardado sin volver a
+ * ejecutar la operación; si la original sigue en curso, la repetición espera a
+ * su resultado, de modo que los duplicados concurrentes se ejecutan una sola
+ * vez. Una huella distinta con la misma clave es un error del cliente.
+ *
+ * Si la operación falla no se guarda nada (la transacción se revirtió) y un
+ * reintento vuelve a ejecutarla. Las entradas están acotadas en número y
+ * caducan; el registro es local a cada instancia.
+ */
+@Component
+public class IdempotencyStore {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<ScopedKey, Entry> entries;
+
+    public IdempotencyStore(
+        ObjectMapper objectMapper,
+        MeterRegistry meterRegistry,
+        @Value("${idempotency.max-entries:100000}") long maxEntries,
+        @Value("${idempotency.ttl:24h}") Duration ttl
+    ) {
+        this.objectMapper = objectMapper;
+        this.entries = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "idempotency.entries");
+    }
+
+    /**
+     * Ejecuta la operación una sola vez por (ámbito, clave).
+     *
+     * @param scope   ámbito de la clave, p. ej. la operación y el usuario
+     * @param key     valor de la cabecera Idempotency-Key
+     * @param request petición de la que se calcula la huella
+     * @param action  operación a ejecutar
+     */
+    public <T> Result<T> execute(String scope, String key, Object request, Supplier<T> action) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+        }
+        ScopedKey scopedKey = new ScopedKey(scope, key);
+        Entry candidate = new Entry(fingerprint(request), new CompletableFuture<>());
+
+        Entry existing = entries.asMap().putIfAbsent(scopedKey, candidate);
+        if (existing != null) {
+            if (!existing.fingerprint().equals(candidate.fingerprint())) {
+                throw new IdempotencyKeyReusedException();
+            }
+            return new Result<>(await(existing), true);
+        }
+
+        try {
+            T value = action.get();
+            candidate.result().complete(value);
+            return new Result<>(value, false);
+        } catch (RuntimeException | Error ex) {
+            entries.asMap().remove(scopedKey, candidate);
+            candidate.result().completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T await(Entry entry) {
+        try {
+            return (T) entry.result().join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(request)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("No se pudo calcular la huella de la petición", ex);
+        }
+    }
+
+    /**
+     * Resultado de la operación.
+     *
+     * @param value    valor devuelto por la operación original
+     * @param replayed {@code true} si se devolvió un resultado ya guardado
+     */
+    public record Result<T>(T value, boolean replayed) {}
+
+    private record ScopedKey(String scope, String key) {}
+
+    private record Entry(String fingerprint, CompletableFuture<Object> result) {}
+}
@@ -0,0 +1,110 @@
+package com.bootcamp.finalproject.common.jdbc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * DataSource que envía las transacciones readOnly a una réplica de lectura y
+ * el resto al primario.
+ *
+ * El tipo de transacción solo se conoce después de que el gestor de
+ * transacciones pida la conexión, por lo que debe usarse detrás de un
+ * {@link LazyConnectionDataSourceProxy}: la conexión física se obtiene con la
+ * primera sentencia, cuando la transacción ya está marcada como readOnly.
+ *
+ * Las lecturas van al primario si la petición está fijada (ver
+ * {@link ReplicaRoutingContext}) o si la réplica no está disponible: un fallo al
+ * conectar con ella la marca como caída hasta que {@link #checkReplica()} la
+ * vuelva a validar.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final int validationTimeoutSeconds;
+    private volatile boolean replicaUp = true;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration validationTimeout) {
+        this.primary = primary;
+        this.replica = replica;
+        this.validationTimeoutSeconds = (int) Math.max(1, validationTimeout.toSeconds());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!useReplica()) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException | RuntimeException ex) {
+            replicaFailed(ex);
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        if (!useReplica()) {
+            return primary.getConnection(username, password);
+        }
+        try {
+            return replica.getConnection(username, password);
+        } catch (SQLException | RuntimeException ex) {
+            replicaFailed(ex);
+            return primary.getConnection(username, password);
+        }
+    }
+
+    /**
+     * Valida la réplica y actualiza su estado.
+     *
+     * @return si la réplica está disponible
+     */
+    public boolean checkReplica() {
+        boolean valid;
+        try (Connection connection = replica.getConnection()) {
+            valid = connection.isValid(validationTimeoutSeconds);
+        } catch (SQLException | RuntimeException ex) {
+            valid = false;
+        }
+        if (valid && !replicaUp) {
+            log.info("Réplica de lectura disponible de nuevo");
+        } else if (!valid && replicaUp) {
+            log.warn("Réplica de lectura no disponible; las lecturas van al primario");
+        }
+        replicaUp = valid;
+        return valid;
+    }
+
+    public boolean isReplicaUp() {
+        return replicaUp;
+    }
+
+    private boolean useReplica() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                ReplicaRoutingContext.markWrite();
+            }
+            return false;
+        }
+        return replicaUp && !ReplicaRoutingContext.isPinned();
+    }
+
+    private void replicaFailed(Exception ex) {
+        if (replicaUp) {
+            log.warn("No se pudo conectar con la réplica de lectura; las lecturas van al primario: {}", ex.getMessage());
+        }
+        replicaUp = false;
+    }
+}
@@ -0,0 +1,64 @@
+package com.bootcamp.finalproject.common.jdbc;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Consistencia "read-your-writes" con réplica de lectura.
+ *
+ * Tras una escritura, las peticiones del mismo cliente (usuario autenticado o,
+ * si no, IP) leen del primario durante una ventana algo mayor que el retraso de
+ * replicación esperado. Los clientes recientes se guardan en una caché acotada
+ * que expira sola al cerrarse la ventana.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(Duration window, long maxClients) {
+        this.recentWriters = Caffeine.newBuilder()
+            .maximumSize(maxClients)
+            .expireAfterWrite(window)
+            .build();
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        String client = clientKey(request);
+        ReplicaRoutingContext.open(recentWriters.getIfPresent(client) != null,
+            () -> recentWriters.put(client, Boolean.TRUE));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // La ventana cuenta desde el final de la petición, no desde el inicio de la escritura
+            if (ReplicaRoutingContext.hasWritten()) {
+                recentWriters.put(client, Boolean.TRUE);
+            }
+            ReplicaRoutingContext.close();
+        }
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+            && !(authentication instanceof AnonymousAuthenticationToken)) {
+            return "user:" + authentication.getName();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
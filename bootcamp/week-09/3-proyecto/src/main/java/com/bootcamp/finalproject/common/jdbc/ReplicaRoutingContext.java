@@ -0,0 +1,91 @@
+package com.bootcamp.finalproject.common.jdbc;
+
+import java.util.function.Supplier;
+
+/**
+ * Estado de enrutamiento de la petición en curso (por hilo).
+ *
+ * Una petición "fijada" envía también sus lecturas al primario. Se fija al
+ * empezar si el cliente escribió hace poco, o a mitad de petición en cuanto
+ * abre una transacción de escritura: así lee lo que acaba de escribir aunque
+ * la réplica todavía no lo tenga. Fuera de una petición (tareas programadas,
+ * dispatcher del outbox) no hay contexto y solo cuenta el tipo de transacción.
+ *
+ * Las cargas cuyo resultado se guarda (cachés, índices en memoria) se ejecutan
+ * con {@link #onPrimary(Supplier)}: un dato viejo de la réplica quedaría
+ * guardado y se serviría como actual hasta la siguiente invalidación.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private ReplicaRoutingContext() {}
+
+    /**
+     * Abre el contexto de la petición.
+     *
+     * @param pinned  si las lecturas deben ir al primario desde el principio
+     * @param onWrite se invoca la primera vez que la petición escribe
+     */
+    public static void open(boolean pinned, Runnable onWrite) {
+        CURRENT.set(new State(pinned, onWrite));
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Ejecuta {@code action} leyendo del primario, también en transacciones
+     * readOnly. No marca la petición como escritura.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (PRIMARY.get() != null) {
+            return action.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    /**
+     * @return si la petición actual escribió en el primario
+     */
+    public static boolean hasWritten() {
+        State state = CURRENT.get();
+        return state != null && state.wrote;
+    }
+
+    static boolean isPinned() {
+        if (PRIMARY.get() != null) {
+            return true;
+        }
+        State state = CURRENT.get();
+        return state != null && state.pinned;
+    }
+
+    static void markWrite() {
+        State state = CURRENT.get();
+        if (state == null || state.wrote) {
+            return;
+        }
+        state.wrote = true;
+        state.pinned = true;
+        state.onWrite.run();
+    }
+
+    private static final class State {
+        private boolean pinned;
+        private boolean wrote;
+        private final Runnable onWrite;
+
+        private State(boolean pinned, Runnable onWrite) {
+            this.pinned = pinned;
+            this.onWrite = onWrite;
+        }
+    }
+}
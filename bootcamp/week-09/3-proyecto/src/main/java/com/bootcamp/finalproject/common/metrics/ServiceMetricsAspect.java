@@ -0,0 +1,93 @@
+package com.bootcamp.finalproject.common.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registra un timer {@code service.method} por cada método público de las
+ * clases {@code *Service}, etiquetado con clase, método y excepción.
+ *
+ * Para métodos asíncronos el tiempo se mide hasta que el resultado se completa.
+ *
+ * Los timers se resuelven una vez por método y resultado: en cada llamada solo
+ * se busca en un mapa, sin crear builders ni identificadores de métrica.
+ */
+@Aspect
+@Component
+public class ServiceMetricsAspect {
+
+    static final String METRIC_NAME = "service.method";
+
+    private static final String NO_EXCEPTION = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    public ServiceMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * com.bootcamp.finalproject..*Service.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodTimers methodTimers = timers.computeIfAbsent(
+            ((MethodSignature) joinPoint.getSignature()).getMethod(), this::methodTimers);
+        Timer.Sample sample = Timer.start(meterRegistry);
+
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            methodTimers.stop(sample, ex);
+            throw ex;
+        }
+
+        if (result instanceof CompletionStage<?> stage) {
+            return stage.whenComplete((value, ex) -> methodTimers.stop(sample, ex));
+        }
+        methodTimers.stop(sample, null);
+        return result;
+    }
+
+    private MethodTimers methodTimers(Method method) {
+        Meter.MeterProvider<Timer> provider = Timer.builder(METRIC_NAME)
+            .description("Tiempo de ejecución de los métodos de servicio")
+            .tag("class", method.getDeclaringClass().getSimpleName())
+            .tag("method", method.getName())
+            .withRegistry(meterRegistry);
+        return new MethodTimers(provider, provider.withTags(Tags.of("exception", NO_EXCEPTION)));
+    }
+
+    /**
+     * Timers de un método: el de éxito ya registrado y, para las excepciones,
+     * uno por tipo creado la primera vez que aparece.
+     */
+    private record MethodTimers(
+        Meter.MeterProvider<Timer> provider,
+        Timer success,
+        Map<Class<?>, Timer> failures
+    ) {
+
+        MethodTimers(Meter.MeterProvider<Timer> provider, Timer success) {
+            this(provider, success, new ConcurrentHashMap<>());
+        }
+
+        void stop(Timer.Sample sample, Throwable ex) {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            sample.stop(cause == null ? success : failures.computeIfAbsent(cause.getClass(),
+                type -> provider.withTags(Tags.of("exception", type.getSimpleName()))));
+        }
+    }
+}
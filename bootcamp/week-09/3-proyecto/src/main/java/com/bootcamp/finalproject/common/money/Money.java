@@ -0,0 +1,55 @@
+package com.bootcamp.finalproject.common.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Importe monetario en unidades mínimas (céntimos) sobre un {@code long}.
+ *
+ * Las operaciones son aritmética entera con detección de desbordamiento, sin
+ * crear objetos BigDecimal intermedios. La conversión a BigDecimal solo se
+ * hace en los bordes: persistencia (MoneyConverter) y DTOs.
+ */
+public record Money(long minorUnits) implements Comparable<Money> {
+
+    /** Decimales de las columnas NUMERIC de importes. */
+    public static final int SCALE = 2;
+
+    public static final Money ZERO = new Money(0);
+
+    /**
+     * Convierte un BigDecimal a Money redondeando a céntimos (HALF_UP, igual que
+     * NUMERIC(p, 2) al almacenar).
+     *
+     * @throws ArithmeticException si el importe no cabe en un long
+     */
+    public static Money of(BigDecimal amount) {
+        return new Money(amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money times(int quantity) {
+        return new Money(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
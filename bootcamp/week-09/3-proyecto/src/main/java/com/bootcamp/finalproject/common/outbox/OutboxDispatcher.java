@@ -0,0 +1,219 @@
+package com.bootcamp.finalproject.common.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Entrega en segundo plano los eventos del outbox a los OutboxEventHandler.
+ *
+ * Cada ronda reserva un lote de eventos con FOR UPDATE SKIP LOCKED en una
+ * transacción corta (varias instancias pueden trabajar a la vez sin repartirse
+ * el mismo evento), ejecuta los handlers fuera de transacción y registra el
+ * resultado en otra. Un evento fallido se reintenta con espera exponencial
+ * hasta {@code max-attempts}; después queda en FAILED.
+ *
+ * La entrega se registra por handler: si uno falla, los demás se ejecutan
+ * igualmente y el reintento solo llama a los que aún no han terminado bien.
+ */
+@Component
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxRepository outboxRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration retention;
+    private final Counter processed;
+    private final Counter retried;
+    private final Counter failed;
+
+    public OutboxDispatcher(
+        OutboxRepository outboxRepository,
+        List<OutboxEventHandler> handlers,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry,
+        @Value("${outbox.dispatcher.enabled:true}") boolean enabled,
+        @Value("${outbox.dispatcher.batch-size:100}") int batchSize,
+        @Value("${outbox.dispatcher.max-attempts:10}") int maxAttempts,
+        @Value("${outbox.dispatcher.retry-backoff:1s}") Duration retryBackoff,
+        @Value("${outbox.dispatcher.max-backoff:10m}") Duration maxBackoff,
+        @Value("${outbox.dispatcher.lease:1m}") Duration lease,
+        @Value("${outbox.retention:7d}") Duration retention
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.handlers = handlers;
+        if (handlers.stream().map(OutboxEventHandler::name).distinct().count() != handlers.size()) {
+            throw new IllegalStateException("Los OutboxEventHandler deben tener nombres distintos");
+        }
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.retention = retention;
+        this.processed = outcomeCounter(meterRegistry, "processed");
+        this.retried = outcomeCounter(meterRegistry, "retry");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatcher.poll-interval:PT1S}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            dispatchPending();
+        } catch (RuntimeException ex) {
+            log.error("Error al despachar eventos del outbox", ex);
+        }
+    }
+
+    /**
+     * Despacha lotes hasta que no quedan eventos pendientes cuya entrega toque.
+     *
+     * @return número de eventos procesados (con éxito o no)
+     */
+    public int dispatchPending() {
+        int total = 0;
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+            total += dispatched;
+        } while (dispatched == batchSize);
+        return total;
+    }
+
+    /**
+     * Reserva y entrega un único lote.
+     *
+     * @return número de eventos reservados en el lote
+     */
+    public int dispatchBatch() {
+        Map<OutboxMessage, Set<String>> claimed = claimBatch();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<Long, Delivery> deliveries = new HashMap<>();
+        claimed.forEach((message, delivered) -> deliveries.put(message.id(), deliver(message, delivered)));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            for (OutboxEvent event : outboxRepository.findAllById(deliveries.keySet())) {
+                Delivery delivery = deliveries.get(event.getId());
+                event.markDelivered(delivery.succeeded());
+                String error = delivery.error();
+                if (error == null) {
+                    event.markProcessed(now);
+                    processed.increment();
+                } else {
+                    event.markFailed(error, now.plus(backoff(event.getAttempts())), maxAttempts);
+                    if (event.getStatus() == OutboxStatus.FAILED) {
+                        failed.increment();
+                    } else {
+                        retried.increment();
+                    }
+                }
+            }
+        });
+        return claimed.size();
+    }
+
+    /**
+     * Elimina los eventos ya procesados más antiguos que {@code outbox.retention}.
+     */
+    @Scheduled(cron = "${outbox.cleanup-cron:0 0 3 * * *}")
+    public void purgeProcessed() {
+        Integer deleted = transactionTemplate.execute(status ->
+            outboxRepository.deleteProcessedBefore(LocalDateTime.now().minus(retention)));
+        log.info("Eventos del outbox procesados eliminados: {}", deleted);
+    }
+
+    /**
+     * @return los eventos reservados, en orden, con los handlers que ya los procesaron
+     */
+    private Map<OutboxMessage, Set<String>> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            Map<OutboxMessage, Set<String>> claimed = new LinkedHashMap<>();
+            for (OutboxEvent event : outboxRepository.findDueForUpdate(now, PageRequest.of(0, batchSize))) {
+                event.claim(now.plus(lease));
+                claimed.put(new OutboxMessage(
+                    event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload(), event.getAttempts()),
+                    event.getDeliveredHandlers());
+            }
+            return claimed;
+        });
+    }
+
+    /**
+     * Ejecuta los handlers que aún no han procesado el evento. Un fallo no
+     * impide ejecutar los siguientes.
+     */
+    private Delivery deliver(OutboxMessage message, Set<String> delivered) {
+        Set<String> succeeded = new HashSet<>();
+        String error = null;
+        for (OutboxEventHandler handler : handlers) {
+            if (!handler.supports(message.eventType()) || delivered.contains(handler.name())) {
+                continue;
+            }
+            try {
+                handler.handle(message);
+                succeeded.add(handler.name());
+            } catch (Exception ex) {
+                log.warn("Handler {} falló con el evento {} ({}), intento {}: {}",
+                    handler.name(), message.id(), message.eventType(), message.attempt(), ex.toString());
+                if (error == null) {
+                    error = handler.name() + ": " + ex;
+                    error = error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+                }
+            }
+        }
+        return new Delivery(succeeded, error);
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    /**
+     * Resultado de un intento: handlers que terminaron bien y el primer error, o {@code null}.
+     */
+    private record Delivery(Set<String> succeeded, String error) {}
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("outbox.events")
+            .description("Eventos del outbox despachados por resultado")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,148 @@
+package com.bootcamp.finalproject.common.outbox;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Evento pendiente de entregar, guardado en la misma transacción que el cambio
+ * que lo origina (patrón transactional outbox).
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+    @Index(name = "idx_outbox_events_status_available_at", columnList = "status, available_at")
+})
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+    @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 100)
+    private String eventType;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    /** Handlers que ya han procesado el evento, separados por comas. */
+    @Column(name = "delivered_handlers", length = 1000)
+    private String deliveredHandlers;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /** Momento a partir del cual el dispatcher puede (re)intentar la entrega. */
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "processed_at")
+    private LocalDateTime processedAt;
+
+    // Constructores
+    protected OutboxEvent() {}
+
+    public OutboxEvent(String eventType, Long aggregateId, String payload, LocalDateTime now) {
+        this.eventType = eventType;
+        this.aggregateId = aggregateId;
+        this.payload = payload;
+        this.createdAt = now;
+        this.availableAt = now;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public OutboxStatus getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public Set<String> getDeliveredHandlers() {
+        return deliveredHandlers == null
+            ? new LinkedHashSet<>()
+            : new LinkedHashSet<>(Arrays.asList(deliveredHandlers.split(",")));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getAvailableAt() {
+        return availableAt;
+    }
+
+    public LocalDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    // Transiciones
+    /**
+     * Reserva el evento para un intento de entrega; si el dispatcher no registra
+     * el resultado antes de {@code leaseUntil}, otro podrá volver a tomarlo.
+     */
+    void claim(LocalDateTime leaseUntil) {
+        this.attempts++;
+        this.availableAt = leaseUntil;
+    }
+
+    /**
+     * Registra los handlers que han terminado bien en este intento.
+     */
+    void markDelivered(Set<String> handlers) {
+        Set<String> delivered = getDeliveredHandlers();
+        delivered.addAll(handlers);
+        this.deliveredHandlers = delivered.isEmpty() ? null : String.join(",", delivered);
+    }
+
+    void markProcessed(LocalDateTime now) {
+        this.status = OutboxStatus.PROCESSED;
+        this.processedAt = now;
+        this.lastError = null;
+    }
+
+    void markFailed(String error, LocalDateTime retryAt, int maxAttempts) {
+        this.lastError = error;
+        this.availableAt = retryAt;
+        if (attempts >= maxAttempts) {
+            this.status = OutboxStatus.FAILED;
+        }
+    }
+}
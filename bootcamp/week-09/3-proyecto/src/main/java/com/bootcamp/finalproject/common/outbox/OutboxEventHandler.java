@@ -0,0 +1,27 @@
+package com.bootcamp.finalproject.common.outbox;
+
+import org.springframework.util.ClassUtils;
+
+/**
+ * Handler en proceso de eventos del outbox. Basta con declararlo como bean.
+ *
+ * El dispatcher guarda qué handlers han terminado bien cada evento: al
+ * reintentarlo solo vuelven a ejecutarse los que fallaron o no llegaron a
+ * ejecutarse. Aun así la entrega es al menos una vez (una caída entre el
+ * handler y el registro del resultado, o una reserva que caduca, repiten la
+ * entrega), así que los handlers deben ser idempotentes.
+ */
+public interface OutboxEventHandler {
+
+    boolean supports(String eventType);
+
+    void handle(OutboxMessage message) throws Exception;
+
+    /**
+     * Identifica al handler en el registro de entregas del evento; debe ser
+     * único y no cambiar entre despliegues.
+     */
+    default String name() {
+        return ClassUtils.getUserClass(this).getName();
+    }
+}
@@ -0,0 +1,8 @@
+package com.bootcamp.finalproject.common.outbox;
+
+/**
+ * Vista inmutable de un evento del outbox que se entrega a los handlers.
+ *
+ * @param attempt número de intento actual (1 en la primera entrega)
+ */
+public record OutboxMessage(Long id, String eventType, Long aggregateId, String payload, int attempt) {}
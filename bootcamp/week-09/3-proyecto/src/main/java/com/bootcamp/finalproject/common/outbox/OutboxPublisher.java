@@ -0,0 +1,36 @@
+package com.bootcamp.finalproject.common.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registra eventos en el outbox dentro de la transacción del llamador: el
+ * evento se confirma (o se descarta) junto con el cambio que lo origina, y el
+ * OutboxDispatcher lo entrega después, fuera de la petición.
+ */
+@Component
+public class OutboxPublisher {
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public OutboxPublisher(OutboxRepository outboxRepository, ObjectMapper objectMapper) {
+        this.outboxRepository = outboxRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String eventType, Long aggregateId, Object payload) {
+        try {
+            outboxRepository.save(new OutboxEvent(
+                eventType, aggregateId, objectMapper.writeValueAsString(payload), LocalDateTime.now()));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Payload de evento no serializable: " + eventType, ex);
+        }
+    }
+}
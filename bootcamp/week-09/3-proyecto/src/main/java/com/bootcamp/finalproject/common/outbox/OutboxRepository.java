@@ -0,0 +1,38 @@
+package com.bootcamp.finalproject.common.outbox;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad OutboxEvent.
+ */
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Eventos pendientes cuya entrega ya toca, bloqueados con FOR UPDATE SKIP LOCKED:
+     * las filas que otro dispatcher tiene bloqueadas se saltan en lugar de esperar.
+     * (Un lock timeout de -2 es SKIP LOCKED en Hibernate.)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = com.bootcamp.finalproject.common.outbox.OutboxStatus.PENDING "
+        + "AND e.availableAt <= :now ORDER BY e.id")
+    List<OutboxEvent> findDueForUpdate(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.bootcamp.finalproject.common.outbox.OutboxStatus.PROCESSED "
+        + "AND e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,13 @@
+package com.bootcamp.finalproject.common.outbox;
+
+/**
+ * Estados de un evento del outbox.
+ */
+public enum OutboxStatus {
+    /** Pendiente de entrega (o de reintento). */
+    PENDING,
+    /** Entregado a todos sus handlers. */
+    PROCESSED,
+    /** Agotó los reintentos; requiere revisión manual. */
+    FAILED
+}
@@ -0,0 +1,43 @@
+package com.bootcamp.finalproject.common.pagination;
+
+import com.bootcamp.finalproject.common.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posición de una paginación por cursor (keyset): último (createdAt, id) leído.
+ * Se expone a los clientes como un token opaco en Base64 URL-safe.
+ */
+public record Cursor(LocalDateTime createdAt, Long id) {
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * Decodifica un cursor recibido del cliente.
+     *
+     * @return el cursor, o {@code null} si el valor está vacío (primera página)
+     */
+    public static Cursor decode(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            return new Cursor(
+                LocalDateTime.parse(raw.substring(0, separator)),
+                Long.valueOf(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new BadRequestException("Cursor de paginación inválido");
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,37 @@
+package com.bootcamp.finalproject.common.pagination;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados para paginación por cursor.
+ * No incluye el total de elementos: no se ejecuta ningún COUNT.
+ */
+public record CursorPage<T>(
+    List<T> content,
+    int size,
+    boolean hasNext,
+    String nextCursor
+) {
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Pageable para la consulta keyset: siempre la "primera" página del rango,
+     * ya que el desplazamiento lo da el predicado sobre (createdAt, id).
+     */
+    public static Pageable limit(int size) {
+        return PageRequest.of(0, Math.max(1, Math.min(size, MAX_SIZE)));
+    }
+
+    public static <T> CursorPage<T> of(Slice<T> slice, Function<T, Cursor> cursorOf) {
+        List<T> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+            ? cursorOf.apply(content.get(content.size() - 1)).encode()
+            : null;
+        return new CursorPage<>(content, content.size(), slice.hasNext(), nextCursor);
+    }
+}
@@ -0,0 +1,41 @@
+package com.bootcamp.finalproject.common.web;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+/**
+ * GET condicional con validadores calculados antes de generar la respuesta.
+ *
+ * Si el cliente ya tiene la versión actual (If-None-Match o If-Modified-Since)
+ * se responde 304 sin ejecutar la carga ni serializar el cuerpo. En otro caso
+ * se responde 200 con ETag, Last-Modified y Cache-Control: no-cache, para que
+ * clientes y CDN guarden la respuesta pero la revaliden en cada uso.
+ */
+public final class ConditionalGet {
+
+    private ConditionalGet() {}
+
+    /**
+     * Validadores HTTP de un recurso.
+     *
+     * @param etag         ETag fuerte, incluidas las comillas
+     * @param lastModified fecha de la última modificación conocida
+     */
+    public record Validators(String etag, Instant lastModified) {}
+
+    /**
+     * @return la respuesta 200 con el cuerpo, o {@code null} si ya se marcó la respuesta como 304
+     */
+    public static <T> ResponseEntity<T> respond(WebRequest request, Validators validators, Supplier<T> body) {
+        if (request.checkNotModified(validators.etag(), validators.lastModified().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .body(body.get());
+    }
+}
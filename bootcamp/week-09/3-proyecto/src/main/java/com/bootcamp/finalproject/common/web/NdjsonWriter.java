@@ -0,0 +1,53 @@
+package com.bootcamp.finalproject.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Escribe objetos como NDJSON (un JSON por línea) directamente en la respuesta.
+ *
+ * La cabecera Content-Type y el stream de salida se obtienen en la primera
+ * escritura: hasta entonces la respuesta no está comprometida y un error
+ * todavía puede convertirse en una respuesta de error normal.
+ */
+public class NdjsonWriter {
+
+    public static final String MEDIA_TYPE = "application/x-ndjson";
+
+    private final HttpServletResponse response;
+    private final ObjectMapper objectMapper;
+    private OutputStream out;
+
+    public NdjsonWriter(HttpServletResponse response, ObjectMapper objectMapper) {
+        this.response = response;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escribe una línea y la envía al cliente.
+     */
+    public void write(Object value) {
+        try {
+            OutputStream stream = stream();
+            stream.write(objectMapper.writeValueAsBytes(value));
+            stream.write('\n');
+            stream.flush();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private OutputStream stream() throws IOException {
+        if (out == null) {
+            response.setContentType(MEDIA_TYPE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            out = response.getOutputStream();
+        }
+        return out;
+    }
+}
@@ -0,0 +1,107 @@
+package com.bootcamp.finalproject.config;
+
+import com.bootcamp.finalproject.common.jdbc.ReadWriteRoutingDataSource;
+import com.bootcamp.finalproject.common.jdbc.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Réplica de lectura (opcional, {@code datasource.replica.enabled=true}).
+ *
+ * Sustituye el DataSource autoconfigurado por dos pools, primario
+ * ({@code spring.datasource.*}) y réplica ({@code datasource.replica.*}),
+ * detrás de un {@link ReadWriteRoutingDataSource}: las transacciones
+ * {@code @Transactional(readOnly = true)} leen de la réplica y el resto escribe
+ * en el primario. El DataSource principal de la aplicación (JPA, JdbcTemplate)
+ * es el proxy perezoso sobre el enrutador.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+        DataSourceProperties properties,
+        @Value("${datasource.replica.url}") String url,
+        @Value("${datasource.replica.username}") String username,
+        @Value("${datasource.replica.password}") String password
+    ) {
+        HikariDataSource replica = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .driverClassName(properties.determineDriverClassName())
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(
+        @Qualifier("primaryDataSource") DataSource primaryDataSource,
+        @Qualifier("replicaDataSource") DataSource replicaDataSource,
+        @Value("${datasource.replica.validation-timeout:2s}") Duration validationTimeout
+    ) {
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, validationTimeout);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(
+        @Value("${datasource.replica.sticky-window:5s}") Duration stickyWindow,
+        @Value("${datasource.replica.sticky-max-clients:100000}") long maxClients
+    ) {
+        return new ReadYourWritesFilter(stickyWindow, maxClients);
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(ReadWriteRoutingDataSource routingDataSource) {
+        return new ReplicaHealthCheck(routingDataSource);
+    }
+
+    /**
+     * Valida periódicamente la réplica para volver a usarla cuando se recupera.
+     */
+    public static class ReplicaHealthCheck {
+
+        private final ReadWriteRoutingDataSource routingDataSource;
+
+        public ReplicaHealthCheck(ReadWriteRoutingDataSource routingDataSource) {
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Scheduled(
+            fixedDelayString = "${datasource.replica.health-check-interval:PT5S}",
+            initialDelayString = "${datasource.replica.health-check-interval:PT5S}"
+        )
+        public void check() {
+            routingDataSource.checkReplica();
+        }
+    }
+}
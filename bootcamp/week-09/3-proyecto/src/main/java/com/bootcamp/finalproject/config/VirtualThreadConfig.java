@@ -0,0 +1,48 @@
+package com.bootcamp.finalproject.config;
+
+import com.bootcamp.finalproject.common.jdbc.AdmissionControlDataSource;
+import com.bootcamp.finalproject.common.jdbc.ReadWriteRoutingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Configuración de ejecución asíncrona y del modo de hilos virtuales.
+ *
+ * Con {@code spring.threads.virtual.enabled=true} Spring Boot atiende las
+ * peticiones de Tomcat y las tareas {@code @Async} con hilos virtuales; en ese
+ * modo el DataSource se envuelve en {@link AdmissionControlDataSource} para
+ * que no compitan más hilos por una conexión que el tamaño del pool. Solo se
+ * envuelven los pools: los DataSource que delegan en otros (enrutamiento a la
+ * réplica) ya pasan por la puerta de cada pool.
+ */
+@Configuration
+@EnableAsync
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+    public static BeanPostProcessor connectionAdmissionPostProcessor(Environment environment) {
+        int maxConcurrent = environment.getProperty("datasource.admission.max-concurrent", Integer.class, 10);
+        Duration acquireTimeout = environment.getProperty("datasource.admission.acquire-timeout", Duration.class,
+            Duration.ofSeconds(2));
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource
+                    && !(bean instanceof DelegatingDataSource) && !(bean instanceof ReadWriteRoutingDataSource)) {
+                    return new AdmissionControlDataSource(dataSource, maxConcurrent, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
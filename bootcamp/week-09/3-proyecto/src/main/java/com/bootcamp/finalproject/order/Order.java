@@ -1,10 +1,10 @@
 package com.bootcamp.finalproject.order;
 
 import com.bootcamp.finalproject.common.audit.AuditableEntity;
+import com.bootcamp.finalproject.common.money.Money;
 import com.bootcamp.finalproject.user.User;
 import jakarta.persistence.*;
 
-import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,11 +12,14 @@ import java.util.List;
  * Entidad Pedido.
  */
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_orders_user_created_at_id", columnList = "user_id, created_at, id")
+})
 public class Order extends AuditableEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -28,7 +31,7 @@ public class Order extends AuditableEntity {
     private OrderStatus status = OrderStatus.PENDING;
 
     @Column(nullable = false, precision = 12, scale = 2)
-    private BigDecimal total = BigDecimal.ZERO;
+    private Money total = Money.ZERO;
 
     @Column(length = 500)
     private String shippingAddress;
@@ -39,6 +42,9 @@ public class Order extends AuditableEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> items = new ArrayList<>();
 
+    @Version
+    private Long version;
+
     // Constructores
     public Order() {}
 
@@ -72,11 +78,11 @@ public class Order extends AuditableEntity {
         this.status = status;
     }
 
-    public BigDecimal getTotal() {
+    public Money getTotal() {
         return total;
     }
 
-    public void setTotal(BigDecimal total) {
+    public void setTotal(Money total) {
         this.total = total;
     }
 
@@ -104,22 +110,40 @@ public class Order extends AuditableEntity {
         this.items = items;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     // Helper methods
+    // El total se mantiene de forma incremental: añadir, quitar o modificar un
+    // item ajusta el total con su subtotal, sin recorrer el resto de items.
     public void addItem(OrderItem item) {
         items.add(item);
         item.setOrder(this);
-        recalculateTotal();
+        total = total.plus(item.getSubtotal());
     }
 
     public void removeItem(OrderItem item) {
-        items.remove(item);
-        item.setOrder(null);
-        recalculateTotal();
+        if (items.remove(item)) {
+            item.setOrder(null);
+            total = total.minus(item.getSubtotal());
+        }
     }
 
+    /**
+     * Recalcula el total desde cero; solo es necesario si se reemplaza la lista
+     * de items directamente.
+     */
     public void recalculateTotal() {
-        this.total = items.stream()
-            .map(OrderItem::getSubtotal)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Money sum = Money.ZERO;
+        for (OrderItem item : items) {
+            sum = sum.plus(item.getSubtotal());
+        }
+        this.total = sum;
+    }
+
+    void subtotalChanged(Money previous, Money current) {
+        total = total.minus(previous != null ? previous : Money.ZERO)
+            .plus(current != null ? current : Money.ZERO);
     }
 }
@@ -1,18 +1,28 @@
 package com.bootcamp.finalproject.order;
 
+import com.bootcamp.finalproject.common.idempotency.IdempotencyStore;
+import com.bootcamp.finalproject.common.pagination.CursorPage;
 import com.bootcamp.finalproject.order.dto.CreateOrderRequest;
 import com.bootcamp.finalproject.order.dto.OrderResponse;
+import com.bootcamp.finalproject.order.export.OrderExportFormat;
+import com.bootcamp.finalproject.order.export.OrderExportService;
 import com.bootcamp.finalproject.user.User;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
 
 /**
  * Controlador REST para órdenes.
@@ -23,9 +33,20 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
+    private final IdempotencyStore idempotencyStore;
+    private final Duration exportTimeout;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(
+        OrderService orderService,
+        OrderExportService orderExportService,
+        IdempotencyStore idempotencyStore,
+        @Value("${orders.export.timeout:30m}") Duration exportTimeout
+    ) {
         this.orderService = orderService;
+        this.orderExportService = orderExportService;
+        this.idempotencyStore = idempotencyStore;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping
@@ -37,6 +58,39 @@ public class OrderController {
         return ResponseEntity.ok(orderService.findByUser(user.getId(), pageable));
     }
 
+    @GetMapping(params = "after")
+    @Operation(
+        summary = "Listar mis órdenes (paginación por cursor)",
+        description = "Usar after vacío para la primera página y luego el nextCursor de la respuesta"
+    )
+    public ResponseEntity<CursorPage<OrderResponse>> findMyOrdersAfter(
+        @AuthenticationPrincipal User user,
+        @RequestParam String after,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(orderService.findByUserAfter(user.getId(), after, size));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+        summary = "Exportar órdenes en NDJSON o CSV (Admin)",
+        description = "La respuesta se genera en streaming; status filtra opcionalmente por estado"
+    )
+    public WebAsyncTask<Void> export(
+        @RequestParam(required = false) OrderStatus status,
+        @RequestParam(defaultValue = "NDJSON") OrderExportFormat format,
+        HttpServletResponse response
+    ) {
+        response.setContentType(format.getMediaType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"orders." + format.getExtension() + "\"");
+        // Timeout propio: una exportación completa tarda más que los 30 s por defecto de las peticiones asíncronas
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            orderExportService.export(status, format, response.getOutputStream());
+            return null;
+        });
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Obtener orden por ID")
     public ResponseEntity<OrderResponse> findById(
@@ -47,13 +101,27 @@ public class OrderController {
     }
 
     @PostMapping
-    @Operation(summary = "Crear nueva orden")
+    @Operation(
+        summary = "Crear nueva orden",
+        description = "Con la cabecera Idempotency-Key, los reintentos con la misma clave y el mismo cuerpo "
+            + "devuelven la orden ya creada (cabecera Idempotent-Replayed: true) en lugar de crear otra"
+    )
     public ResponseEntity<OrderResponse> create(
         @Valid @RequestBody CreateOrderRequest request,
+        @RequestHeader(value = IdempotencyStore.HEADER, required = false) String idempotencyKey,
         @AuthenticationPrincipal User user
     ) {
-        OrderResponse response = orderService.create(request, user);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        if (idempotencyKey == null) {
+            return ResponseEntity.status(HttpStatus.CREATED).body(orderService.create(request, user));
+        }
+
+        IdempotencyStore.Result<OrderResponse> result = idempotencyStore.execute(
+            "orders:" + user.getId(), idempotencyKey, request, () -> orderService.create(request, user));
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(IdempotencyStore.REPLAYED_HEADER, "true");
+        }
+        return response.body(result.value());
     }
 
     @PatchMapping("/{id}/status")
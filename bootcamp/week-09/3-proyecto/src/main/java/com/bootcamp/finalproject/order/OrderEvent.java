@@ -0,0 +1,17 @@
+package com.bootcamp.finalproject.order;
+
+import java.math.BigDecimal;
+
+/**
+ * Evento del ciclo de vida de una orden, publicado a través del outbox.
+ */
+public record OrderEvent(Long orderId, Long userId, OrderStatus status, BigDecimal total) {
+
+    public static final String PLACED = "order.placed";
+    public static final String STATUS_CHANGED = "order.status-changed";
+    public static final String CANCELLED = "order.cancelled";
+
+    static OrderEvent of(Order order) {
+        return new OrderEvent(order.getId(), order.getUser().getId(), order.getStatus(), order.getTotal().toBigDecimal());
+    }
+}
@@ -1,10 +1,9 @@
 package com.bootcamp.finalproject.order;
 
+import com.bootcamp.finalproject.common.money.Money;
 import com.bootcamp.finalproject.product.Product;
 import jakarta.persistence.*;
 
-import java.math.BigDecimal;
-
 /**
  * Entidad Item de Pedido.
  */
@@ -13,7 +12,8 @@ import java.math.BigDecimal;
 public class OrderItem {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -24,23 +24,31 @@ public class OrderItem {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
+    /**
+     * Categoría del producto al hacer el pedido: los resúmenes de ventas la
+     * usan para que recategorizar un producto no cambie ventas ya contadas.
+     */
+    @Column(name = "category_id", nullable = false)
+    private Long categoryId;
+
     @Column(nullable = false)
     private Integer quantity;
 
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal unitPrice;
+    private Money unitPrice;
 
     @Column(nullable = false, precision = 12, scale = 2)
-    private BigDecimal subtotal;
+    private Money subtotal;
 
     // Constructores
     public OrderItem() {}
 
     public OrderItem(Product product, Integer quantity) {
         this.product = product;
+        this.categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
         this.quantity = quantity;
-        this.unitPrice = product.getPrice();
-        this.subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        this.unitPrice = Money.of(product.getPrice());
+        this.subtotal = unitPrice.times(quantity);
     }
 
     // Getters y Setters
@@ -68,6 +76,14 @@ public class OrderItem {
         this.product = product;
     }
 
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
     public Integer getQuantity() {
         return quantity;
     }
@@ -77,27 +93,31 @@ public class OrderItem {
         recalculateSubtotal();
     }
 
-    public BigDecimal getUnitPrice() {
+    public Money getUnitPrice() {
         return unitPrice;
     }
 
-    public void setUnitPrice(BigDecimal unitPrice) {
+    public void setUnitPrice(Money unitPrice) {
         this.unitPrice = unitPrice;
         recalculateSubtotal();
     }
 
-    public BigDecimal getSubtotal() {
+    public Money getSubtotal() {
         return subtotal;
     }
 
-    public void setSubtotal(BigDecimal subtotal) {
+    public void setSubtotal(Money subtotal) {
+        Money previous = this.subtotal;
         this.subtotal = subtotal;
+        if (order != null) {
+            order.subtotalChanged(previous, subtotal);
+        }
     }
 
     // Helper method
     private void recalculateSubtotal() {
         if (unitPrice != null && quantity != null) {
-            this.subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+            setSubtotal(unitPrice.times(quantity));
         }
     }
 }
@@ -0,0 +1,38 @@
+package com.bootcamp.finalproject.order;
+
+import com.bootcamp.finalproject.common.outbox.OutboxEventHandler;
+import com.bootcamp.finalproject.common.outbox.OutboxMessage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Notifica al cliente los cambios de sus órdenes.
+ *
+ * Por ahora la notificación se registra en el log; aquí se conectaría el envío
+ * de email o push. Se ejecuta desde el outbox, fuera de la transacción de la orden.
+ */
+@Component
+public class OrderNotificationHandler implements OutboxEventHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderNotificationHandler.class);
+
+    private final ObjectMapper objectMapper;
+
+    public OrderNotificationHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public boolean supports(String eventType) {
+        return eventType.startsWith("order.");
+    }
+
+    @Override
+    public void handle(OutboxMessage message) throws Exception {
+        OrderEvent event = objectMapper.readValue(message.payload(), OrderEvent.class);
+        log.info("Notificación al usuario {}: orden {} en estado {} (total {})",
+            event.userId(), event.orderId(), event.status(), event.total());
+    }
+}
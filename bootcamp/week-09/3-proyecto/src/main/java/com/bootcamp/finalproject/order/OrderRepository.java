@@ -2,10 +2,17 @@ package com.bootcamp.finalproject.order;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para la entidad Order.
@@ -13,7 +20,41 @@ import java.util.List;
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    Page<Order> findByUserId(Long userId, Pageable pageable);
+    /**
+     * Primera fase de la paginación: solo los IDs de la página.
+     * Paginar con JOIN FETCH sobre colecciones obligaría a Hibernate a paginar en memoria.
+     */
+    @Query(
+        value = "SELECT o.id FROM Order o WHERE o.user.id = :userId",
+        countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId"
+    )
+    Page<Long> findIdsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * Paginación keyset de IDs: primera página ordenada por (createdAt, id) descendente, sin COUNT.
+     */
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Long> findIdsByUserIdFirst(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT o.id FROM Order o WHERE o.user.id = :userId "
+        + "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) "
+        + "ORDER BY o.createdAt DESC, o.id DESC")
+    Slice<Long> findIdsByUserIdAfter(
+        @Param("userId") Long userId,
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    /**
+     * Segunda fase: carga las órdenes con usuario, items y productos en una sola consulta.
+     */
+    @Query("SELECT DISTINCT o FROM Order o JOIN FETCH o.user "
+        + "LEFT JOIN FETCH o.items i LEFT JOIN FETCH i.product WHERE o.id IN :ids")
+    List<Order> findWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @EntityGraph(attributePaths = {"user", "items", "items.product"})
+    Optional<Order> findWithDetailsById(Long id);
 
     List<Order> findByUserIdAndStatus(Long userId, OrderStatus status);
 
@@ -1,18 +1,40 @@
 package com.bootcamp.finalproject.order;
 
+import com.bootcamp.finalproject.analytics.SalesRollupService;
 import com.bootcamp.finalproject.common.exception.BadRequestException;
+import com.bootcamp.finalproject.common.exception.InsufficientStockException;
+import com.bootcamp.finalproject.common.exception.InsufficientStockException.StockShortage;
 import com.bootcamp.finalproject.common.exception.ResourceNotFoundException;
+import com.bootcamp.finalproject.common.outbox.OutboxPublisher;
+import com.bootcamp.finalproject.common.pagination.Cursor;
+import com.bootcamp.finalproject.common.pagination.CursorPage;
 import com.bootcamp.finalproject.order.dto.*;
 import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductCache;
 import com.bootcamp.finalproject.product.ProductRepository;
+import com.bootcamp.finalproject.product.ProductStockRepository;
 import com.bootcamp.finalproject.user.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Supplier;
 
 /**
  * Servicio para gestión de órdenes.
@@ -20,23 +42,67 @@ import java.util.List;
 @Service
 public class OrderService {
 
+    private static final Logger log = LoggerFactory.getLogger(OrderService.class);
+
+    // Reintentos ante conflictos de concurrencia (bloqueo optimista o de filas)
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_BACKOFF_MS = 20;
+
     private final OrderRepository orderRepository;
     private final ProductRepository productRepository;
+    private final ProductStockRepository productStockRepository;
+    private final ProductCache productCache;
+    private final SalesRollupService salesRollupService;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
 
-    public OrderService(OrderRepository orderRepository, ProductRepository productRepository) {
+    public OrderService(
+        OrderRepository orderRepository,
+        ProductRepository productRepository,
+        ProductStockRepository productStockRepository,
+        ProductCache productCache,
+        SalesRollupService salesRollupService,
+        OutboxPublisher outboxPublisher,
+        PlatformTransactionManager transactionManager
+    ) {
         this.orderRepository = orderRepository;
         this.productRepository = productRepository;
+        this.productStockRepository = productStockRepository;
+        this.productCache = productCache;
+        this.salesRollupService = salesRollupService;
+        this.outboxPublisher = outboxPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional(readOnly = true)
     public Page<OrderResponse> findByUser(Long userId, Pageable pageable) {
-        return orderRepository.findByUserId(userId, pageable)
-            .map(this::toResponse);
+        Page<Long> ids = orderRepository.findIdsByUserId(userId, pageable);
+        if (!ids.hasContent()) {
+            return new PageImpl<>(List.of(), pageable, ids.getTotalElements());
+        }
+
+        Map<Long, Order> orders = findWithDetails(ids.getContent());
+        return ids.map(id -> toResponse(orders.get(id)));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> findByUserAfter(Long userId, String after, int size) {
+        Cursor cursor = Cursor.decode(after);
+        Pageable limit = CursorPage.limit(size);
+        Slice<Long> ids = cursor == null
+            ? orderRepository.findIdsByUserIdFirst(userId, limit)
+            : orderRepository.findIdsByUserIdAfter(userId, cursor.createdAt(), cursor.id(), limit);
+
+        Map<Long, Order> orders = ids.hasContent() ? findWithDetails(ids.getContent()) : Map.of();
+        return CursorPage.of(
+            ids.map(id -> toResponse(orders.get(id))),
+            order -> new Cursor(order.createdAt(), order.id())
+        );
     }
 
     @Transactional(readOnly = true)
     public OrderResponse findById(Long id, User currentUser) {
-        Order order = orderRepository.findById(id)
+        Order order = orderRepository.findWithDetailsById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Orden", id));
 
         // Verificar que la orden pertenece al usuario (o es admin)
@@ -48,49 +114,62 @@ public class OrderService {
         return toResponse(order);
     }
 
-    @Transactional
     public OrderResponse create(CreateOrderRequest request, User user) {
+        return inTransactionWithRetry(() -> doCreate(request, user));
+    }
+
+    public OrderResponse updateStatus(Long id, OrderStatus status) {
+        return inTransactionWithRetry(() -> doUpdateStatus(id, status));
+    }
+
+    public void cancel(Long id, User currentUser) {
+        inTransactionWithRetry(() -> {
+            doCancel(id, currentUser);
+            return null;
+        });
+    }
+
+    private OrderResponse doCreate(CreateOrderRequest request, User user) {
         Order order = new Order();
         order.setUser(user);
         order.setShippingAddress(request.shippingAddress());
         order.setNotes(request.notes());
         order.setStatus(OrderStatus.PENDING);
 
-        for (OrderItemRequest itemRequest : request.items()) {
-            Product product = productRepository.findById(itemRequest.productId())
-                .orElseThrow(() -> new ResourceNotFoundException("Producto", itemRequest.productId()));
+        Map<Long, Product> products = reserveStock(request.items());
 
-            if (!product.hasStock(itemRequest.quantity())) {
-                throw new BadRequestException(
-                    "Stock insuficiente para el producto: " + product.getName()
-                );
-            }
-
-            // Reducir stock
-            product.reduceStock(itemRequest.quantity());
-            productRepository.save(product);
-
-            // Crear item
-            OrderItem item = new OrderItem(product, itemRequest.quantity());
+        for (OrderItemRequest itemRequest : request.items()) {
+            OrderItem item = new OrderItem(products.get(itemRequest.productId()), itemRequest.quantity());
             order.addItem(item);
         }
 
-        order.recalculateTotal();
-        return toResponse(orderRepository.save(order));
+        Order saved = orderRepository.save(order);
+        salesRollupService.orderPlaced(saved);
+        outboxPublisher.publish(OrderEvent.PLACED, saved.getId(), OrderEvent.of(saved));
+        return toResponse(saved);
     }
 
-    @Transactional
-    public OrderResponse updateStatus(Long id, OrderStatus status) {
-        Order order = orderRepository.findById(id)
+    private OrderResponse doUpdateStatus(Long id, OrderStatus status) {
+        Order order = orderRepository.findWithDetailsById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Orden", id));
 
+        OrderStatus previous = order.getStatus();
         order.setStatus(status);
+
+        // Las órdenes canceladas no cuentan en la analítica de ventas
+        if (previous != OrderStatus.CANCELLED && status == OrderStatus.CANCELLED) {
+            salesRollupService.orderCancelled(order);
+        } else if (previous == OrderStatus.CANCELLED && status != OrderStatus.CANCELLED) {
+            salesRollupService.orderPlaced(order);
+        }
+        outboxPublisher.publish(
+            status == OrderStatus.CANCELLED ? OrderEvent.CANCELLED : OrderEvent.STATUS_CHANGED,
+            order.getId(), OrderEvent.of(order));
         return toResponse(orderRepository.save(order));
     }
 
-    @Transactional
-    public void cancel(Long id, User currentUser) {
-        Order order = orderRepository.findById(id)
+    private void doCancel(Long id, User currentUser) {
+        Order order = orderRepository.findWithDetailsById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Orden", id));
 
         // Verificar permisos
@@ -104,14 +183,123 @@ public class OrderService {
         }
 
         // Restaurar stock
+        List<Product> products = new ArrayList<>();
         for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.setStock(product.getStock() + item.getQuantity());
-            productRepository.save(product);
+            productRepository.incrementStock(item.getProduct().getId(), item.getQuantity());
+            products.add(item.getProduct());
         }
+        invalidateCachedStock(products);
 
         order.setStatus(OrderStatus.CANCELLED);
         orderRepository.save(order);
+        salesRollupService.orderCancelled(order);
+        outboxPublisher.publish(OrderEvent.CANCELLED, order.getId(), OrderEvent.of(order));
+    }
+
+    /**
+     * Reserva el stock de todos los items del pedido.
+     *
+     * Carga los productos en una sola consulta, valida el stock en memoria y
+     * descuenta todo en un único batch JDBC condicional. Si algún producto no
+     * tiene stock suficiente se lanza una excepción con el detalle por producto
+     * y la transacción se revierte por completo.
+     */
+    private Map<Long, Product> reserveStock(List<OrderItemRequest> items) {
+        // Agrupar cantidades por producto, ordenadas por ID para evitar deadlocks
+        SortedMap<Long, Integer> quantities = new TreeMap<>();
+        for (OrderItemRequest item : items) {
+            quantities.merge(item.productId(), item.quantity(), Integer::sum);
+        }
+
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findByIdInOrderByIdAsc(quantities.keySet())) {
+            products.put(product.getId(), product);
+        }
+
+        List<StockShortage> shortages = new ArrayList<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            Product product = products.get(entry.getKey());
+            if (product == null) {
+                throw new ResourceNotFoundException("Producto", entry.getKey());
+            }
+            if (!product.hasStock(entry.getValue())) {
+                shortages.add(toShortage(product, entry.getValue()));
+            }
+        }
+        if (!shortages.isEmpty()) {
+            throw new InsufficientStockException(shortages);
+        }
+
+        // El UPDATE condicional protege frente a pedidos concurrentes
+        invalidateCachedStock(products.values());
+        List<Long> rejected = decrementStock(quantities);
+        if (!rejected.isEmpty()) {
+            throw new InsufficientStockException(rejected.stream()
+                .map(id -> toShortage(products.get(id), quantities.get(id)))
+                .toList());
+        }
+
+        return products;
+    }
+
+    private void invalidateCachedStock(Collection<Product> products) {
+        productCache.invalidate(
+            products.stream().map(Product::getId).toList(),
+            products.stream().map(product -> product.getCategory().getId()).distinct().toList()
+        );
+    }
+
+    /**
+     * Carga las órdenes con sus detalles en una sola consulta, indexadas por ID
+     * para poder conservar el orden de la consulta de IDs.
+     */
+    private Map<Long, Order> findWithDetails(List<Long> ids) {
+        Map<Long, Order> orders = new HashMap<>();
+        for (Order order : orderRepository.findWithDetailsByIdIn(ids)) {
+            orders.put(order.getId(), order);
+        }
+        return orders;
+    }
+
+    private List<Long> decrementStock(SortedMap<Long, Integer> quantities) {
+        if (quantities.size() == 1) {
+            // Un solo producto: un UPDATE simple sin preparar un batch
+            Long productId = quantities.firstKey();
+            int updated = productRepository.decrementStockIfAvailable(productId, quantities.get(productId));
+            return updated == 1 ? List.of() : List.of(productId);
+        }
+        return productStockRepository.decrementStock(quantities);
+    }
+
+    /**
+     * Ejecuta la operación en una transacción nueva y la reintenta un número
+     * acotado de veces si falla por un conflicto de concurrencia.
+     */
+    private <T> T inTransactionWithRetry(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw ex;
+                }
+                log.debug("Conflicto de concurrencia (intento {}/{}): {}", attempt, MAX_ATTEMPTS, ex.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        try {
+            Thread.sleep(RETRY_BACKOFF_MS * attempt);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reintento interrumpido", ex);
+        }
+    }
+
+    private StockShortage toShortage(Product product, int requested) {
+        return new StockShortage(product.getId(), product.getName(), requested, product.getStock());
     }
 
     private OrderResponse toResponse(Order order) {
@@ -121,8 +309,8 @@ public class OrderService {
                 item.getProduct().getId(),
                 item.getProduct().getName(),
                 item.getQuantity(),
-                item.getUnitPrice(),
-                item.getSubtotal()
+                item.getUnitPrice().toBigDecimal(),
+                item.getSubtotal().toBigDecimal()
             ))
             .toList();
 
@@ -131,7 +319,7 @@ public class OrderService {
             order.getUser().getId(),
             order.getUser().getName(),
             order.getStatus(),
-            order.getTotal(),
+            order.getTotal().toBigDecimal(),
             order.getShippingAddress(),
             order.getNotes(),
             items,
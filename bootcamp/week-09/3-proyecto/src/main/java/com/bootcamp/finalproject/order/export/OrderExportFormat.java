@@ -0,0 +1,29 @@
+package com.bootcamp.finalproject.order.export;
+
+/**
+ * Formatos de exportación de órdenes.
+ */
+public enum OrderExportFormat {
+
+    /** Una orden por línea, con sus items anidados. */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** Un item por fila, con los datos de su orden repetidos. */
+    CSV("text/csv", "csv");
+
+    private final String mediaType;
+    private final String extension;
+
+    OrderExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
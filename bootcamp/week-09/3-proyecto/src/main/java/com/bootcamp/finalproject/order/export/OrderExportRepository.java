@@ -0,0 +1,47 @@
+package com.bootcamp.finalproject.order.export;
+
+import com.bootcamp.finalproject.order.OrderItem;
+import com.bootcamp.finalproject.order.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.stream.Stream;
+
+/**
+ * Consulta de solo lectura y avance único para exportar órdenes.
+ */
+@Repository
+public class OrderExportRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Items con su orden, usuario y producto, ordenados por orden e item para
+     * poder agruparlos en una sola pasada. Debe consumirse dentro de una
+     * transacción y cerrarse al terminar.
+     */
+    public Stream<OrderItem> streamItems(OrderStatus status, int fetchSize) {
+        return entityManager.createQuery("""
+                SELECT i FROM OrderItem i
+                JOIN FETCH i.order o
+                JOIN FETCH o.user
+                JOIN FETCH i.product
+                WHERE (:status IS NULL OR o.status = :status)
+                ORDER BY o.id, i.id
+                """, OrderItem.class)
+            .setParameter("status", status)
+            .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(AvailableHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+    /**
+     * Desvincula del contexto de persistencia las entidades ya exportadas.
+     */
+    public void clear() {
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,170 @@
+package com.bootcamp.finalproject.order.export;
+
+import com.bootcamp.finalproject.order.Order;
+import com.bootcamp.finalproject.order.OrderItem;
+import com.bootcamp.finalproject.order.OrderStatus;
+import com.bootcamp.finalproject.order.dto.OrderItemResponse;
+import com.bootcamp.finalproject.order.dto.OrderResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de órdenes en streaming con memoria constante.
+ *
+ * Recorre los items con un cursor de solo avance, agrupa los de cada orden
+ * (vienen consecutivos) y escribe cada orden en cuanto está completa. Cada
+ * {@code fetchSize} filas se vacía el contexto de persistencia, así que la
+ * memoria depende del tamaño de bloque y no del número de órdenes.
+ */
+@Service
+public class OrderExportService {
+
+    private static final String CSV_HEADER = "order_id,created_at,status,user_id,user_name,shipping_address,"
+        + "order_total,item_id,product_id,product_name,quantity,unit_price,subtotal";
+
+    private final OrderExportRepository orderExportRepository;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public OrderExportService(
+        OrderExportRepository orderExportRepository,
+        ObjectMapper objectMapper,
+        @Value("${orders.export.fetch-size:500}") int fetchSize
+    ) {
+        this.orderExportRepository = orderExportRepository;
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Escribe las órdenes (opcionalmente filtradas por estado) en {@code out}.
+     */
+    @Transactional(readOnly = true)
+    public void export(OrderStatus status, OrderExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == OrderExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        try (Stream<OrderItem> items = orderExportRepository.streamItems(status, fetchSize)) {
+            Iterator<OrderItem> iterator = items.iterator();
+            OrderResponse current = null;
+            List<OrderItemResponse> currentItems = new ArrayList<>();
+            long rows = 0;
+
+            while (iterator.hasNext()) {
+                OrderItem item = iterator.next();
+                Order order = item.getOrder();
+
+                if (current != null && !current.id().equals(order.getId())) {
+                    write(writer, format, withItems(current, currentItems));
+                    currentItems = new ArrayList<>();
+                }
+                if (current == null || !current.id().equals(order.getId())) {
+                    current = header(order);
+                }
+                currentItems.add(toItemResponse(item));
+
+                if (++rows % fetchSize == 0) {
+                    orderExportRepository.clear();
+                    writer.flush();
+                }
+            }
+
+            if (current != null) {
+                write(writer, format, withItems(current, currentItems));
+            }
+        }
+        writer.flush();
+    }
+
+    private void write(Writer writer, OrderExportFormat format, OrderResponse order) throws IOException {
+        if (format == OrderExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(order));
+            writer.write('\n');
+            return;
+        }
+
+        for (OrderItemResponse item : order.items()) {
+            writer.write(String.join(",",
+                String.valueOf(order.id()),
+                String.valueOf(order.createdAt()),
+                order.status().name(),
+                String.valueOf(order.userId()),
+                csv(order.userName()),
+                csv(order.shippingAddress()),
+                order.total().toPlainString(),
+                String.valueOf(item.id()),
+                String.valueOf(item.productId()),
+                csv(item.productName()),
+                String.valueOf(item.quantity()),
+                item.unitPrice().toPlainString(),
+                item.subtotal().toPlainString()
+            ));
+            writer.write('\n');
+        }
+    }
+
+    private static OrderResponse header(Order order) {
+        return new OrderResponse(
+            order.getId(),
+            order.getUser().getId(),
+            order.getUser().getName(),
+            order.getStatus(),
+            order.getTotal().toBigDecimal(),
+            order.getShippingAddress(),
+            order.getNotes(),
+            List.of(),
+            order.getCreatedAt()
+        );
+    }
+
+    private static OrderResponse withItems(OrderResponse order, List<OrderItemResponse> items) {
+        return new OrderResponse(
+            order.id(),
+            order.userId(),
+            order.userName(),
+            order.status(),
+            order.total(),
+            order.shippingAddress(),
+            order.notes(),
+            items,
+            order.createdAt()
+        );
+    }
+
+    private static OrderItemResponse toItemResponse(OrderItem item) {
+        return new OrderItemResponse(
+            item.getId(),
+            item.getProduct().getId(),
+            item.getProduct().getName(),
+            item.getQuantity(),
+            item.getUnitPrice().toBigDecimal(),
+            item.getSubtotal().toBigDecimal()
+        );
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,143 @@
+package com.bootcamp.finalproject.product;
+
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.common.web.ConditionalGet.Validators;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Versiones en memoria del catálogo para ETag y Last-Modified.
+ *
+ * Un contador global cambia con cualquier escritura del catálogo (productos,
+ * categorías y stock) y cada producto modificado guarda la versión en la que
+ * cambió por última vez, así que calcular los validadores no toca la base de
+ * datos. Las versiones avanzan al confirmarse la transacción: una respuesta
+ * generada con la versión nueva ya ve los datos confirmados.
+ *
+ * Los contadores se reinician al arrancar; el instante de arranque forma parte
+ * del ETag para que nunca se repita uno anterior. Con varias instancias, cada
+ * una conoce solo sus propias escrituras, igual que {@link ProductCache}.
+ */
+@Component
+public class CatalogVersion {
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final long epoch = System.currentTimeMillis();
+
+    private final AtomicReference<Stamp> catalog;
+    // Versión mínima de todos los productos (p. ej. al renombrar una categoría)
+    private final AtomicReference<Stamp> allProducts;
+    private final Map<Long, Stamp> products = new ConcurrentHashMap<>();
+
+    public CatalogVersion(ProductRepository productRepository, CategoryRepository categoryRepository) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        Stamp initial = new Stamp(0, Instant.ofEpochMilli(epoch));
+        this.catalog = new AtomicReference<>(initial);
+        this.allProducts = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Toma como fecha de partida el último updatedAt de productos y categorías,
+     * en lugar del arranque, para que Last-Modified refleje los datos reales.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLastModified() {
+        Instant lastUpdated = latest(
+            productRepository.findLastUpdatedAt().map(CatalogVersion::toInstant).orElse(Instant.EPOCH),
+            categoryRepository.findLastUpdatedAt().map(CatalogVersion::toInstant).orElse(Instant.EPOCH));
+        Stamp initial = new Stamp(0, lastUpdated);
+        catalog.compareAndSet(new Stamp(0, Instant.ofEpochMilli(epoch)), initial);
+        allProducts.compareAndSet(new Stamp(0, Instant.ofEpochMilli(epoch)), initial);
+    }
+
+    /**
+     * Validadores de los listados y búsquedas del catálogo y de las categorías.
+     */
+    public Validators catalog() {
+        return validators(catalog.get());
+    }
+
+    /**
+     * Validadores de un producto concreto.
+     */
+    public Validators product(Long id) {
+        Stamp own = products.get(id);
+        Stamp floor = allProducts.get();
+        return validators(own != null && own.version() > floor.version() ? own : floor);
+    }
+
+    /**
+     * Registra un cambio en el catálogo que afecta a los productos indicados
+     * (puede estar vacío, p. ej. al crear productos o categorías).
+     */
+    public void changed(Collection<Long> productIds) {
+        Set<Long> ids = Set.copyOf(productIds);
+        afterCommit(() -> advance(ids, false));
+    }
+
+    /**
+     * Registra un cambio que afecta a todos los productos.
+     */
+    public void changedAll() {
+        afterCommit(() -> advance(Set.of(), true));
+    }
+
+    private void advance(Set<Long> ids, boolean all) {
+        Instant now = Instant.now();
+        Stamp next = catalog.updateAndGet(current ->
+            new Stamp(current.version() + 1, latest(current.modified(), now)));
+        for (Long id : ids) {
+            products.merge(id, next, CatalogVersion::newest);
+        }
+        if (all) {
+            allProducts.accumulateAndGet(next, CatalogVersion::newest);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private Validators validators(Stamp stamp) {
+        return new Validators("\"" + epoch + "-" + stamp.version() + "\"", stamp.modified());
+    }
+
+    private static Stamp newest(Stamp a, Stamp b) {
+        return a.version() >= b.version() ? a : b;
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private record Stamp(long version, Instant modified) {}
+}
@@ -10,11 +10,18 @@ import java.math.BigDecimal;
  * Entidad Producto.
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_created_at_id", columnList = "created_at, id")
+})
 public class Product extends AuditableEntity {
 
+    /** Secuencia de IDs y tamaño de bloque, compartidos con las inserciones JDBC masivas. */
+    public static final String ID_SEQUENCE = "products_seq";
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 200)
@@ -39,6 +46,9 @@ public class Product extends AuditableEntity {
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
 
+    @Version
+    private Long version;
+
     // Constructores
     public Product() {}
 
@@ -115,6 +125,10 @@ public class Product extends AuditableEntity {
         this.category = category;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     // Helper methods
     public boolean hasStock(int quantity) {
         return this.stock >= quantity;
@@ -0,0 +1,184 @@
+package com.bootcamp.finalproject.product;
+
+import com.bootcamp.finalproject.common.jdbc.ReplicaRoutingContext;
+import com.bootcamp.finalproject.product.dto.ProductResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caché en memoria del catálogo de productos.
+ *
+ * Guarda productos por ID y páginas de listado por (categoría, página), con
+ * límite de tamaño y expiración. Las escrituras invalidan las entradas afectadas
+ * al producirse y de nuevo al terminar la transacción; mientras una escritura
+ * está en curso, o si hubo una invalidación durante la carga, el valor leído de
+ * la base de datos no se guarda. Así no se sirven datos anteriores a un commit.
+ *
+ * Cada invalidación avanza también {@link CatalogVersion}, después de vaciar
+ * las entradas afectadas.
+ *
+ * Las cargas leen siempre del primario: con réplica de lectura, un valor
+ * anterior al último commit quedaría en caché con la versión nueva del catálogo.
+ */
+@Component
+public class ProductCache {
+
+    /** Clave de categoría para el listado general de productos. */
+    static final Long ALL_CATEGORIES = 0L;
+
+    private final Cache<Long, ProductResponse> products;
+    private final Cache<PageKey, Page<ProductResponse>> pages;
+
+    // Invalidaciones realizadas: una carga que se solapa con alguna no se guarda
+    private final AtomicLong generation = new AtomicLong();
+
+    // Escrituras en curso (no confirmadas) por producto, por categoría y globales
+    private final Map<Long, Integer> pendingProducts = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> pendingCategories = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingAll = new AtomicInteger();
+
+    private final CatalogVersion catalogVersion;
+
+    public ProductCache(
+        CatalogVersion catalogVersion,
+        MeterRegistry meterRegistry,
+        @Value("${catalog.cache.max-products:10000}") long maxProducts,
+        @Value("${catalog.cache.max-pages:500}") long maxPages,
+        @Value("${catalog.cache.ttl:5m}") Duration ttl
+    ) {
+        this.catalogVersion = catalogVersion;
+        this.products = Caffeine.newBuilder()
+            .maximumSize(maxProducts)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        this.pages = Caffeine.newBuilder()
+            .maximumSize(maxPages)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "products.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "products.pages");
+    }
+
+    public ProductResponse getProduct(Long id, Supplier<ProductResponse> loader) {
+        ProductResponse cached = products.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = generation.get();
+        ProductResponse loaded = ReplicaRoutingContext.onPrimary(loader);
+        products.asMap().compute(id, (key, current) ->
+            canStore(stamp) && !pendingProducts.containsKey(id) ? loaded : current);
+        return loaded;
+    }
+
+    public Page<ProductResponse> getPage(Long categoryId, Pageable pageable, Supplier<Page<ProductResponse>> loader) {
+        PageKey pageKey = new PageKey(categoryId == null ? ALL_CATEGORIES : categoryId, pageable);
+        Page<ProductResponse> cached = pages.getIfPresent(pageKey);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = generation.get();
+        Page<ProductResponse> loaded = ReplicaRoutingContext.onPrimary(loader);
+        pages.asMap().compute(pageKey, (key, current) ->
+            canStore(stamp) && !pendingCategories.containsKey(key.categoryId()) ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Invalida productos y las páginas de sus categorías (y el listado general).
+     * Dentro de una transacción, vuelve a invalidar al terminarla.
+     */
+    public void invalidate(Collection<Long> productIds, Collection<Long> categoryIds) {
+        Set<Long> ids = Set.copyOf(productIds);
+        Set<Long> categories = new HashSet<>(categoryIds);
+        categories.add(ALL_CATEGORIES);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(ids, categories);
+            catalogVersion.changed(ids);
+            return;
+        }
+
+        ids.forEach(id -> pendingProducts.merge(id, 1, Integer::sum));
+        categories.forEach(id -> pendingCategories.merge(id, 1, Integer::sum));
+        evict(ids, categories);
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict(ids, categories);
+                ids.forEach(id -> release(pendingProducts, id));
+                categories.forEach(id -> release(pendingCategories, id));
+            }
+        });
+        catalogVersion.changed(ids);
+    }
+
+    /**
+     * Invalida toda la caché, por ejemplo al renombrar una categoría.
+     */
+    public void invalidateAll() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictAll();
+            catalogVersion.changedAll();
+            return;
+        }
+
+        pendingAll.incrementAndGet();
+        evictAll();
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evictAll();
+                pendingAll.decrementAndGet();
+            }
+        });
+        catalogVersion.changedAll();
+    }
+
+    private boolean canStore(long stamp) {
+        return generation.get() == stamp && pendingAll.get() == 0;
+    }
+
+    private void evict(Set<Long> ids, Set<Long> categories) {
+        generation.incrementAndGet();
+        products.invalidateAll(ids);
+        pages.asMap().keySet().removeIf(key -> categories.contains(key.categoryId()));
+    }
+
+    private void evictAll() {
+        generation.incrementAndGet();
+        products.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    private static void release(Map<Long, Integer> pending, Long key) {
+        pending.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    private record PageKey(Long categoryId, Pageable pageable) {}
+}
@@ -1,20 +1,35 @@
 package com.bootcamp.finalproject.product;
 
+import com.bootcamp.finalproject.common.pagination.CursorPage;
+import com.bootcamp.finalproject.common.web.ConditionalGet;
+import com.bootcamp.finalproject.common.web.NdjsonWriter;
+import com.bootcamp.finalproject.product.bulk.ProductImportFormat;
+import com.bootcamp.finalproject.product.bulk.ProductImportService;
+import com.bootcamp.finalproject.product.dto.ProductImportSummary;
 import com.bootcamp.finalproject.product.dto.ProductRequest;
 import com.bootcamp.finalproject.product.dto.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Controlador REST para productos.
+ *
+ * Las lecturas admiten GET condicional: con If-None-Match vigente se responde
+ * 304 sin consultar la base de datos (ver {@link CatalogVersion}).
  */
 @RestController
 @RequestMapping("/api/products")
@@ -22,36 +37,65 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final ObjectMapper objectMapper;
+    private final CatalogVersion catalogVersion;
 
-    public ProductController(ProductService productService) {
+    public ProductController(
+        ProductService productService,
+        ProductImportService productImportService,
+        ObjectMapper objectMapper,
+        CatalogVersion catalogVersion
+    ) {
         this.productService = productService;
+        this.productImportService = productImportService;
+        this.objectMapper = objectMapper;
+        this.catalogVersion = catalogVersion;
     }
 
     @GetMapping
     @Operation(summary = "Listar todos los productos activos (paginado)")
-    public ResponseEntity<Page<ProductResponse>> findAll(Pageable pageable) {
-        return ResponseEntity.ok(productService.findAll(pageable));
+    public ResponseEntity<Page<ProductResponse>> findAll(Pageable pageable, WebRequest request) {
+        return ConditionalGet.respond(request, catalogVersion.catalog(), () -> productService.findAll(pageable));
+    }
+
+    @GetMapping(params = "after")
+    @Operation(
+        summary = "Listar productos activos (paginación por cursor)",
+        description = "Usar after vacío para la primera página y luego el nextCursor de la respuesta"
+    )
+    public ResponseEntity<CursorPage<ProductResponse>> findAllAfter(
+        @RequestParam String after,
+        @RequestParam(defaultValue = "20") int size,
+        WebRequest request
+    ) {
+        return ConditionalGet.respond(request, catalogVersion.catalog(), () -> productService.findAllAfter(after, size));
     }
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Listar productos por categoría")
     public ResponseEntity<Page<ProductResponse>> findByCategory(
         @PathVariable Long categoryId,
-        Pageable pageable
+        Pageable pageable,
+        WebRequest request
     ) {
-        return ResponseEntity.ok(productService.findByCategory(categoryId, pageable));
+        return ConditionalGet.respond(request, catalogVersion.catalog(),
+            () -> productService.findByCategory(categoryId, pageable));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Obtener producto por ID")
-    public ResponseEntity<ProductResponse> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.findById(id));
+    public ResponseEntity<ProductResponse> findById(@PathVariable Long id, WebRequest request) {
+        return ConditionalGet.respond(request, catalogVersion.product(id), () -> productService.findById(id));
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Buscar productos por nombre")
-    public ResponseEntity<List<ProductResponse>> search(@RequestParam String q) {
-        return ResponseEntity.ok(productService.search(q));
+    @Operation(
+        summary = "Buscar productos por nombre y descripción",
+        description = "Resultados ordenados por relevancia; admite prefijos y no distingue mayúsculas ni acentos"
+    )
+    public ResponseEntity<Page<ProductResponse>> search(@RequestParam String q, Pageable pageable, WebRequest request) {
+        return ConditionalGet.respond(request, catalogVersion.catalog(), () -> productService.search(q, pageable));
     }
 
     @PostMapping
@@ -61,6 +105,24 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(
+        summary = "Importar productos en bloque desde CSV o NDJSON (Admin)",
+        description = "La entrada y la respuesta se procesan en streaming. La respuesta es NDJSON: "
+            + "una línea por fila rechazada ({line, errors}) y una línea final con el resumen ({imported, failed}). "
+            + "Las categorías se indican por nombre."
+    )
+    public void importProducts(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+        InputStream body,
+        HttpServletResponse response
+    ) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(response, objectMapper);
+        ProductImportSummary summary = productImportService.importProducts(
+            body, ProductImportFormat.from(contentType), writer::write);
+        writer.write(summary);
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Actualizar producto (Admin)")
     public ResponseEntity<ProductResponse> update(
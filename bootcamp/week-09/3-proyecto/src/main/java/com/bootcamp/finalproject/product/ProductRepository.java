@@ -1,14 +1,21 @@
 package com.bootcamp.finalproject.product;
 
+import com.bootcamp.finalproject.product.dto.ProductResponse;
+import com.bootcamp.finalproject.product.search.SearchDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repositorio para la entidad Product.
@@ -16,15 +23,79 @@ import java.util.List;
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
-    Page<Product> findByActiveTrue(Pageable pageable);
+    String RESPONSE_PROJECTION = "new com.bootcamp.finalproject.product.dto.ProductResponse("
+        + "p.id, p.name, p.description, p.price, p.stock, p.imageUrl, p.active, c.id, c.name, p.createdAt)";
 
-    Page<Product> findByCategoryIdAndActiveTrue(Long categoryId, Pageable pageable);
+    /**
+     * Listado de productos activos proyectado directamente a {@link ProductResponse}.
+     * Una sola consulta con JOIN a categorías, sin materializar entidades.
+     */
+    @Query(
+        value = "SELECT " + RESPONSE_PROJECTION + " FROM Product p JOIN p.category c WHERE p.active = true",
+        countQuery = "SELECT COUNT(p) FROM Product p WHERE p.active = true"
+    )
+    Page<ProductResponse> findActiveResponses(Pageable pageable);
 
-    List<Product> findByNameContainingIgnoreCaseAndActiveTrue(String name);
+    @Query(
+        value = "SELECT " + RESPONSE_PROJECTION + " FROM Product p JOIN p.category c "
+            + "WHERE c.id = :categoryId AND p.active = true",
+        countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.id = :categoryId AND p.active = true"
+    )
+    Page<ProductResponse> findActiveResponsesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    /**
+     * Paginación keyset: primera página ordenada por (createdAt, id) descendente.
+     * Devuelve un Slice, por lo que no se ejecuta COUNT.
+     */
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Product p JOIN p.category c WHERE p.active = true "
+        + "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductResponse> findActiveResponsesFirst(Pageable pageable);
+
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Product p JOIN p.category c WHERE p.active = true "
+        + "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) "
+        + "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<ProductResponse> findActiveResponsesAfter(
+        @Param("createdAt") LocalDateTime createdAt,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Product p JOIN p.category c WHERE p.id = :id")
+    Optional<ProductResponse> findResponseById(@Param("id") Long id);
+
+    @Query("SELECT " + RESPONSE_PROJECTION + " FROM Product p JOIN p.category c WHERE p.id IN :ids")
+    List<ProductResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Documentos para construir el índice de búsqueda, paginados por ID.
+     */
+    @Query("SELECT new com.bootcamp.finalproject.product.search.SearchDocument(p.id, p.version, p.name, p.description) "
+        + "FROM Product p WHERE p.active = true AND p.id > :afterId ORDER BY p.id")
+    List<SearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    List<Product> findByIdInOrderByIdAsc(Collection<Long> ids);
 
     @Query("SELECT p FROM Product p WHERE p.price BETWEEN :min AND :max AND p.active = true")
     List<Product> findByPriceRange(@Param("min") BigDecimal min, @Param("max") BigDecimal max);
 
     @Query("SELECT p FROM Product p WHERE p.stock > 0 AND p.active = true")
     List<Product> findAvailableProducts();
+
+    /**
+     * Descuenta stock de forma atómica solo si hay unidades suficientes.
+     *
+     * @return 1 si se descontó el stock, 0 si no había stock suficiente
+     */
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock - :quantity, p.version = p.version + 1, "
+        + "p.updatedAt = LOCAL DATETIME WHERE p.id = :id AND p.stock >= :quantity")
+    int decrementStockIfAvailable(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :quantity, p.version = p.version + 1, "
+        + "p.updatedAt = LOCAL DATETIME WHERE p.id = :id")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT MAX(p.updatedAt) FROM Product p")
+    Optional<LocalDateTime> findLastUpdatedAt();
 }
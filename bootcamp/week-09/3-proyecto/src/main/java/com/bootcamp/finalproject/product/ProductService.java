@@ -3,14 +3,25 @@ package com.bootcamp.finalproject.product;
 import com.bootcamp.finalproject.category.Category;
 import com.bootcamp.finalproject.category.CategoryRepository;
 import com.bootcamp.finalproject.common.exception.ResourceNotFoundException;
+import com.bootcamp.finalproject.common.pagination.Cursor;
+import com.bootcamp.finalproject.common.pagination.CursorPage;
 import com.bootcamp.finalproject.product.dto.ProductRequest;
 import com.bootcamp.finalproject.product.dto.ProductResponse;
+import com.bootcamp.finalproject.product.search.InvertedIndex;
+import com.bootcamp.finalproject.product.search.ProductSearchIndex;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Servicio para gestión de productos.
@@ -20,36 +31,77 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-
-    public ProductService(ProductRepository productRepository, CategoryRepository categoryRepository) {
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductService(
+        ProductRepository productRepository,
+        CategoryRepository categoryRepository,
+        ProductCache productCache,
+        ProductSearchIndex productSearchIndex,
+        PlatformTransactionManager transactionManager
+    ) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
+        this.productCache = productCache;
+        this.productSearchIndex = productSearchIndex;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
-    @Transactional(readOnly = true)
+    // Las lecturas cacheadas no usan @Transactional: un acierto de caché no debe
+    // abrir transacción ni tomar conexión; solo la carga desde la base de datos lo hace.
+
     public Page<ProductResponse> findAll(Pageable pageable) {
-        return productRepository.findByActiveTrue(pageable)
-            .map(this::toResponse);
+        return productCache.getPage(null, pageable, () ->
+            readOnlyTransaction.execute(status -> productRepository.findActiveResponses(pageable)));
     }
 
     @Transactional(readOnly = true)
+    public CursorPage<ProductResponse> findAllAfter(String after, int size) {
+        Cursor cursor = Cursor.decode(after);
+        Pageable limit = CursorPage.limit(size);
+        Slice<ProductResponse> slice = cursor == null
+            ? productRepository.findActiveResponsesFirst(limit)
+            : productRepository.findActiveResponsesAfter(cursor.createdAt(), cursor.id(), limit);
+        return CursorPage.of(slice, product -> new Cursor(product.createdAt(), product.id()));
+    }
+
     public Page<ProductResponse> findByCategory(Long categoryId, Pageable pageable) {
-        return productRepository.findByCategoryIdAndActiveTrue(categoryId, pageable)
-            .map(this::toResponse);
+        return productCache.getPage(categoryId, pageable, () ->
+            readOnlyTransaction.execute(status ->
+                productRepository.findActiveResponsesByCategoryId(categoryId, pageable)));
     }
 
-    @Transactional(readOnly = true)
     public ProductResponse findById(Long id) {
-        return productRepository.findById(id)
-            .map(this::toResponse)
-            .orElseThrow(() -> new ResourceNotFoundException("Producto", id));
+        return productCache.getProduct(id, () ->
+            readOnlyTransaction.execute(status -> productRepository.findResponseById(id))
+                .orElseThrow(() -> new ResourceNotFoundException("Producto", id)));
     }
 
+    /**
+     * Búsqueda por relevancia sobre el índice en memoria; solo la página de
+     * resultados se lee de la base de datos.
+     */
     @Transactional(readOnly = true)
-    public List<ProductResponse> search(String query) {
-        return productRepository.findByNameContainingIgnoreCaseAndActiveTrue(query).stream()
-            .map(this::toResponse)
+    public Page<ProductResponse> search(String query, Pageable pageable) {
+        InvertedIndex.SearchResult result = productSearchIndex.search(
+            query, (int) pageable.getOffset(), pageable.getPageSize());
+        if (result.ids().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, result.total());
+        }
+
+        Map<Long, ProductResponse> products = new HashMap<>();
+        for (ProductResponse product : productRepository.findResponsesByIdIn(result.ids())) {
+            products.put(product.id(), product);
+        }
+
+        List<ProductResponse> content = result.ids().stream()
+            .map(products::get)
+            .filter(Objects::nonNull)
             .toList();
+        return new PageImpl<>(content, pageable, result.total());
     }
 
     @Transactional
@@ -66,7 +118,10 @@ public class ProductService {
         product.setCategory(category);
         product.setActive(true);
 
-        return toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        productCache.invalidate(List.of(saved.getId()), List.of(category.getId()));
+        productSearchIndex.put(saved);
+        return toResponse(saved);
     }
 
     @Transactional
@@ -77,6 +132,8 @@ public class ProductService {
         Category category = categoryRepository.findById(request.categoryId())
             .orElseThrow(() -> new ResourceNotFoundException("Categoría", request.categoryId()));
 
+        productCache.invalidate(List.of(id), List.of(product.getCategory().getId(), category.getId()));
+
         product.setName(request.name());
         product.setDescription(request.description());
         product.setPrice(request.price());
@@ -84,7 +141,11 @@ public class ProductService {
         product.setImageUrl(request.imageUrl());
         product.setCategory(category);
 
-        return toResponse(productRepository.save(product));
+        Product saved = productRepository.save(product);
+        if (saved.getActive()) {
+            productSearchIndex.put(saved);
+        }
+        return toResponse(saved);
     }
 
     @Transactional
@@ -92,9 +153,11 @@ public class ProductService {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Producto", id));
 
+        productCache.invalidate(List.of(id), List.of(product.getCategory().getId()));
+
         // Soft delete
         product.setActive(false);
-        productRepository.save(product);
+        productSearchIndex.remove(productRepository.save(product));
     }
 
     private ProductResponse toResponse(Product product) {
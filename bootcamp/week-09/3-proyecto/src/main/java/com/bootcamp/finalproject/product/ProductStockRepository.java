@@ -0,0 +1,67 @@
+package com.bootcamp.finalproject.product;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Operaciones de stock basadas en SQL directo.
+ *
+ * Permite descontar el stock de varios productos en un único batch JDBC,
+ * en lugar de un findById + save por cada producto.
+ */
+@Repository
+public class ProductStockRepository {
+
+    private static final String DECREMENT_SQL =
+        "UPDATE products SET stock = stock - ?, version = version + 1, updated_at = CURRENT_TIMESTAMP "
+            + "WHERE id = ? AND stock >= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductStockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Descuenta el stock de todos los productos en un único batch.
+     * Las filas se actualizan en orden de ID para que transacciones concurrentes
+     * adquieran los bloqueos en el mismo orden y no se produzcan deadlocks.
+     *
+     * @param quantities cantidades a descontar por ID de producto
+     * @return IDs de los productos que no tenían stock suficiente (no actualizados)
+     */
+    public List<Long> decrementStock(SortedMap<Long, Integer> quantities) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(quantities.entrySet());
+
+        int[] updated = jdbcTemplate.batchUpdate(DECREMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, Integer> entry = entries.get(i);
+                ps.setInt(1, entry.getValue());
+                ps.setLong(2, entry.getKey());
+                ps.setInt(3, entry.getValue());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+
+        List<Long> rejected = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                rejected.add(entries.get(i).getKey());
+            }
+        }
+        return rejected;
+    }
+}
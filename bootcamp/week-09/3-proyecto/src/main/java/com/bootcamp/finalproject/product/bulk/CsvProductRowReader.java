@@ -0,0 +1,132 @@
+package com.bootcamp.finalproject.product.bulk;
+
+import com.bootcamp.finalproject.common.exception.BadRequestException;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector CSV (RFC 4180, sin saltos de línea dentro de los campos).
+ *
+ * La primera línea es la cabecera y define el orden de las columnas:
+ * name, description, price, stock, imageUrl, category (sin distinguir mayúsculas).
+ * Una cabecera sin las columnas obligatorias invalida toda la importación.
+ */
+class CsvProductRowReader extends ProductRowReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "price", "stock", "category");
+
+    private Map<String, Integer> columns;
+
+    CsvProductRowReader(InputStream input) {
+        super(input);
+    }
+
+    @Override
+    protected ProductImportRow parse(String line, long lineNumber) {
+        if (columns == null) {
+            columns = readHeader(splitHeader(line));
+            return null;
+        }
+
+        List<String> fields = split(line);
+        return new ProductImportRow(
+            field(fields, "name"),
+            field(fields, "description"),
+            parseDecimal(field(fields, "price")),
+            parseInteger(field(fields, "stock")),
+            field(fields, "imageurl"),
+            field(fields, "category")
+        );
+    }
+
+    private static Map<String, Integer> readHeader(List<String> fields) {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            header.put(fields.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!header.containsKey(column)) {
+                throw new BadRequestException("Falta la columna '" + column + "' en la cabecera CSV");
+            }
+        }
+        return header;
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal parseDecimal(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("price: valor numérico inválido '" + value + "'");
+        }
+    }
+
+    private static Integer parseInteger(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("stock: valor entero inválido '" + value + "'");
+        }
+    }
+
+    private static List<String> splitHeader(String line) {
+        try {
+            return split(line);
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Cabecera CSV inválida: " + ex.getMessage());
+        }
+    }
+
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Comillas sin cerrar");
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bootcamp.finalproject.product.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.InputStream;
+
+/**
+ * Lector NDJSON: un objeto JSON por línea con los campos de {@link ProductImportRow}.
+ */
+class NdjsonProductRowReader extends ProductRowReader {
+
+    private final ObjectReader rowReader;
+
+    NdjsonProductRowReader(InputStream input, ObjectMapper objectMapper) {
+        super(input);
+        this.rowReader = objectMapper.readerFor(ProductImportRow.class);
+    }
+
+    @Override
+    protected ProductImportRow parse(String line, long lineNumber) {
+        try {
+            return rowReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("JSON inválido: " + ex.getOriginalMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.bootcamp.finalproject.product.bulk;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos admitidos por la importación masiva de productos.
+ */
+public enum ProductImportFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final MediaType mediaType;
+
+    ProductImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ProductImportFormat from(MediaType contentType) {
+        for (ProductImportFormat format : values()) {
+            if (format.mediaType.isCompatibleWith(contentType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Formato no soportado: " + contentType);
+    }
+}
@@ -0,0 +1,104 @@
+package com.bootcamp.finalproject.product.bulk;
+
+import com.bootcamp.finalproject.product.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserciones JDBC en lote para la importación masiva de productos.
+ *
+ * Los IDs se reservan de la misma secuencia que usa Hibernate y respetando su
+ * optimizador pooled: cada valor de la secuencia cubre el bloque
+ * (valor - incremento + 1 .. valor).
+ */
+@Repository
+public class ProductImportRepository {
+
+    /** Versión de los productos recién insertados, como la que asigna Hibernate al persistir. */
+    public static final long INITIAL_VERSION = 0;
+
+    private static final String INSERT_SQL = """
+        INSERT INTO products (id, name, description, price, stock, image_url, active, category_id,
+                              version, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?, ?, ?)
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nextValueSql;
+
+    public ProductImportRepository(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nextValueSql = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+            .getJdbcServices()
+            .getDialect()
+            .getSequenceSupport()
+            .getSequenceNextValString(Product.ID_SEQUENCE);
+    }
+
+    /**
+     * Inserta los productos en un único lote JDBC y devuelve los IDs asignados, en el mismo orden.
+     */
+    public List<Long> insert(List<NewProduct> products) {
+        List<Long> ids = allocateIds(products.size());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewProduct product = products.get(i);
+                ps.setLong(1, ids.get(i));
+                ps.setString(2, product.name());
+                ps.setString(3, product.description());
+                ps.setBigDecimal(4, product.price());
+                ps.setInt(5, product.stock());
+                ps.setString(6, product.imageUrl());
+                ps.setLong(7, product.categoryId());
+                ps.setLong(8, INITIAL_VERSION);
+                ps.setTimestamp(9, now);
+                ps.setTimestamp(10, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return products.size();
+            }
+        });
+        return ids;
+    }
+
+    private List<Long> allocateIds(int count) {
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long high = jdbcTemplate.queryForObject(nextValueSql, Long.class);
+            long low = Math.max(1, high - Product.ID_ALLOCATION_SIZE + 1);
+            for (long id = low; id <= high && ids.size() < count; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Producto validado pendiente de insertar.
+     */
+    public record NewProduct(
+        String name,
+        String description,
+        BigDecimal price,
+        int stock,
+        String imageUrl,
+        Long categoryId
+    ) {}
+}
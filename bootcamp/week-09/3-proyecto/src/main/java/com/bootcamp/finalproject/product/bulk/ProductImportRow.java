@@ -0,0 +1,15 @@
+package com.bootcamp.finalproject.product.bulk;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de entrada de la importación masiva; la categoría se indica por nombre.
+ */
+public record ProductImportRow(
+    String name,
+    String description,
+    BigDecimal price,
+    Integer stock,
+    String imageUrl,
+    String category
+) {}
@@ -0,0 +1,203 @@
+package com.bootcamp.finalproject.product.bulk;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.product.ProductCache;
+import com.bootcamp.finalproject.product.bulk.ProductImportRepository.NewProduct;
+import com.bootcamp.finalproject.product.bulk.ProductRowReader.ParsedRow;
+import com.bootcamp.finalproject.product.dto.ProductImportError;
+import com.bootcamp.finalproject.product.dto.ProductImportSummary;
+import com.bootcamp.finalproject.product.dto.ProductRequest;
+import com.bootcamp.finalproject.product.search.ProductSearchIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de productos desde CSV o NDJSON.
+ *
+ * La entrada se procesa en streaming: las filas válidas se acumulan hasta
+ * completar un lote, que se inserta con JDBC en su propia transacción; las
+ * filas inválidas se notifican al momento. La memoria usada depende del
+ * tamaño de lote, no del tamaño del fichero.
+ */
+@Service
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private final CategoryRepository categoryRepository;
+    private final ProductImportRepository productImportRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public ProductImportService(
+        CategoryRepository categoryRepository,
+        ProductImportRepository productImportRepository,
+        ProductCache productCache,
+        ProductSearchIndex productSearchIndex,
+        Validator validator,
+        ObjectMapper objectMapper,
+        PlatformTransactionManager transactionManager,
+        @Value("${catalog.import.batch-size:500}") int batchSize
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.productImportRepository = productImportRepository;
+        this.productCache = productCache;
+        this.productSearchIndex = productSearchIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Importa los productos de {@code input}, notificando cada fila rechazada a
+     * {@code errorListener} a medida que se detecta.
+     */
+    public ProductImportSummary importProducts(
+        InputStream input,
+        ProductImportFormat format,
+        Consumer<ProductImportError> errorListener
+    ) throws IOException {
+        Map<String, Long> categoryIds = loadCategoryIds();
+        ProductRowReader reader = ProductRowReader.of(format, input, objectMapper);
+
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+        long imported = 0;
+        long failed = 0;
+
+        ParsedRow parsed;
+        while ((parsed = reader.next()) != null) {
+            List<String> errors = parsed.error() != null
+                ? List.of(parsed.error())
+                : validate(parsed.row(), categoryIds);
+
+            if (!errors.isEmpty()) {
+                errorListener.accept(new ProductImportError(parsed.line(), errors));
+                failed++;
+                continue;
+            }
+
+            batch.add(new PendingRow(parsed.line(), toNewProduct(parsed.row(), categoryIds)));
+            if (batch.size() == batchSize) {
+                long written = flush(batch, errorListener);
+                imported += written;
+                failed += batch.size() - written;
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            long written = flush(batch, errorListener);
+            imported += written;
+            failed += batch.size() - written;
+        }
+
+        return new ProductImportSummary(imported, failed);
+    }
+
+    private Map<String, Long> loadCategoryIds() {
+        Map<String, Long> categoryIds = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryIds.put(normalize(category.getName()), category.getId());
+        }
+        return categoryIds;
+    }
+
+    private List<String> validate(ProductImportRow row, Map<String, Long> categoryIds) {
+        Long categoryId = row.category() == null ? null : categoryIds.get(normalize(row.category()));
+        ProductRequest request = toRequest(row, categoryId);
+
+        boolean unknownCategory = row.category() != null && categoryId == null;
+
+        List<String> errors = new ArrayList<>();
+        validator.validate(request).stream()
+            .filter(violation -> !(unknownCategory && isCategory(violation)))
+            .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+            .map(ProductImportService::describe)
+            .forEach(errors::add);
+
+        if (unknownCategory) {
+            errors.add("category: Categoría no encontrada '" + row.category() + "'");
+        }
+        return errors;
+    }
+
+    private long flush(List<PendingRow> batch, Consumer<ProductImportError> errorListener) {
+        List<NewProduct> products = batch.stream().map(PendingRow::product).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Long> ids = productImportRepository.insert(products);
+                Set<Long> categoryIds = new HashSet<>();
+                for (int i = 0; i < products.size(); i++) {
+                    NewProduct product = products.get(i);
+                    categoryIds.add(product.categoryId());
+                    productSearchIndex.put(ids.get(i), ProductImportRepository.INITIAL_VERSION, product.name(), product.description());
+                }
+                productCache.invalidate(List.of(), categoryIds);
+            });
+            return batch.size();
+        } catch (DataAccessException ex) {
+            log.warn("Lote de importación rechazado: {}", ex.getMostSpecificCause().getMessage());
+            for (PendingRow row : batch) {
+                errorListener.accept(new ProductImportError(row.line(), List.of("Error al guardar el lote")));
+            }
+            return 0;
+        }
+    }
+
+    private static ProductRequest toRequest(ProductImportRow row, Long categoryId) {
+        return new ProductRequest(row.name(), row.description(), row.price(), row.stock(), row.imageUrl(), categoryId);
+    }
+
+    private static NewProduct toNewProduct(ProductImportRow row, Map<String, Long> categoryIds) {
+        return new NewProduct(
+            row.name(),
+            row.description(),
+            row.price(),
+            row.stock(),
+            row.imageUrl(),
+            categoryIds.get(normalize(row.category()))
+        );
+    }
+
+    private static boolean isCategory(ConstraintViolation<ProductRequest> violation) {
+        return "categoryId".equals(violation.getPropertyPath().toString());
+    }
+
+    private static String describe(ConstraintViolation<ProductRequest> violation) {
+        // En la importación la categoría se indica por nombre, en la columna "category"
+        String field = isCategory(violation) ? "category" : violation.getPropertyPath().toString();
+        return field + ": " + violation.getMessage();
+    }
+
+    private static String normalize(String categoryName) {
+        return categoryName.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record PendingRow(long line, NewProduct product) {}
+}
@@ -0,0 +1,64 @@
+package com.bootcamp.finalproject.product.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Lector secuencial de filas de importación: lee la entrada línea a línea,
+ * sin cargarla completa en memoria.
+ */
+abstract class ProductRowReader {
+
+    private final BufferedReader reader;
+    private long lineNumber;
+
+    protected ProductRowReader(InputStream input) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+    }
+
+    static ProductRowReader of(ProductImportFormat format, InputStream input, ObjectMapper objectMapper) {
+        return switch (format) {
+            case CSV -> new CsvProductRowReader(input);
+            case NDJSON -> new NdjsonProductRowReader(input, objectMapper);
+        };
+    }
+
+    /**
+     * Devuelve la siguiente fila (válida o con error de formato), o null al final de la entrada.
+     * Las líneas en blanco se ignoran.
+     */
+    ParsedRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                ProductImportRow row = parse(line, lineNumber);
+                if (row != null) {
+                    return new ParsedRow(lineNumber, row, null);
+                }
+            } catch (IllegalArgumentException ex) {
+                return new ParsedRow(lineNumber, null, ex.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Convierte una línea en una fila; devuelve null si la línea no es un dato
+     * (p. ej. la cabecera CSV) y lanza IllegalArgumentException si es inválida.
+     */
+    protected abstract ProductImportRow parse(String line, long lineNumber);
+
+    /**
+     * Fila leída: {@code row} si se pudo interpretar, {@code error} en caso contrario.
+     */
+    record ParsedRow(long line, ProductImportRow row, String error) {}
+}
@@ -0,0 +1,13 @@
+package com.bootcamp.finalproject.product.dto;
+
+import java.util.List;
+
+/**
+ * Fila rechazada en una importación masiva de productos.
+ *
+ * @param line número de línea en el fichero de entrada (1 = primera línea)
+ */
+public record ProductImportError(
+    long line,
+    List<String> errors
+) {}
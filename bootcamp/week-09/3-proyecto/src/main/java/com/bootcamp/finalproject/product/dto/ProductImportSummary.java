@@ -0,0 +1,9 @@
+package com.bootcamp.finalproject.product.dto;
+
+/**
+ * Resultado final de una importación masiva de productos.
+ */
+public record ProductImportSummary(
+    long imported,
+    long failed
+) {}
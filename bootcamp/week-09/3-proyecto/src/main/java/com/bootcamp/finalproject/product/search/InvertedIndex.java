@@ -0,0 +1,236 @@
+package com.bootcamp.finalproject.product.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre nombre y descripción de productos.
+ *
+ * Los términos se normalizan sin mayúsculas ni acentos. Cada término de la
+ * consulta debe aparecer en el documento, ya sea completo o como prefijo;
+ * las coincidencias exactas y en el nombre puntúan más.
+ */
+public class InvertedIndex {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{Alnum}]+");
+
+    static final int NAME_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+    static final int EXACT_MATCH_FACTOR = 2;
+    static final int MIN_PREFIX_LENGTH = 2;
+
+    // término -> (ID de producto -> peso)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+    // ID de producto -> términos indexados (para poder eliminarlo)
+    private final Map<Long, Set<String>> documents = new HashMap<>();
+    // ID de producto -> última versión aplicada (se conserva tras eliminar)
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(long id, String name, String description) {
+        Map<String, Integer> weights = weigh(name, description);
+        lock.writeLock().lock();
+        try {
+            putTerms(id, weights);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa el documento solo si {@code version} es más reciente que la última
+     * aplicada para ese ID (incluidas las eliminaciones).
+     *
+     * @return true si se aplicó
+     */
+    public boolean put(long id, long version, String name, String description) {
+        Map<String, Integer> weights = weigh(name, description);
+        lock.writeLock().lock();
+        try {
+            if (!advance(id, version)) {
+                return false;
+            }
+            putTerms(id, weights);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeTerms(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Elimina el documento solo si {@code version} es más reciente que la última
+     * aplicada; la versión se recuerda para rechazar altas anteriores que lleguen tarde.
+     *
+     * @return true si se aplicó
+     */
+    public boolean remove(long id, long version) {
+        lock.writeLock().lock();
+        try {
+            if (!advance(id, version)) {
+                return false;
+            }
+            removeTerms(id);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            versions.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los productos que contienen todos los términos de la consulta,
+     * ordenados por relevancia descendente (y por ID ante empates).
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        Map<Long, Integer> scores = null;
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                Map<Long, Integer> termScores = scoreTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    scores.keySet().retainAll(termScores.keySet());
+                    scores.replaceAll((id, score) -> score + termScores.get(id));
+                }
+                if (scores.isEmpty()) {
+                    return new SearchResult(List.of(), 0);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Long, Integer>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()));
+
+        List<Long> ids = ranked.stream()
+            .skip(offset)
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+        return new SearchResult(ids, ranked.size());
+    }
+
+    /**
+     * Normaliza un texto a términos de búsqueda: minúsculas, sin acentos,
+     * separados por cualquier carácter no alfanumérico.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+            .replaceAll("")
+            .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(folded)
+            .filter(token -> !token.isEmpty())
+            .toList();
+    }
+
+    private Map<Long, Integer> scoreTerm(String term) {
+        Map<Long, Integer> scores = new HashMap<>();
+        Map<Long, Integer> exact = postings.get(term);
+        if (exact != null) {
+            exact.forEach((id, weight) -> scores.put(id, weight * EXACT_MATCH_FACTOR));
+        }
+        if (term.length() >= MIN_PREFIX_LENGTH) {
+            // Todos los términos que empiezan por el prefijo
+            postings.subMap(term, false, term + Character.MAX_VALUE, false)
+                .values()
+                .forEach(matches -> matches.forEach((id, weight) -> scores.merge(id, weight, Math::max)));
+        }
+        return scores;
+    }
+
+    private static Map<String, Integer> weigh(String name, String description) {
+        Map<String, Integer> weights = new HashMap<>();
+        tokenize(name).forEach(term -> weights.merge(term, NAME_WEIGHT, Math::max));
+        tokenize(description).forEach(term -> weights.merge(term, DESCRIPTION_WEIGHT, Math::max));
+        return weights;
+    }
+
+    private boolean advance(long id, long version) {
+        Long applied = versions.get(id);
+        if (applied != null && applied >= version) {
+            return false;
+        }
+        versions.put(id, version);
+        return true;
+    }
+
+    private void putTerms(long id, Map<String, Integer> weights) {
+        removeTerms(id);
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(id, weight));
+        documents.put(id, weights.keySet());
+    }
+
+    private void removeTerms(long id) {
+        Set<String> terms = documents.remove(id);
+        if (terms == null) {
+            return;
+        }
+        for (String term : new HashSet<>(terms)) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches != null) {
+                matches.remove(id);
+                if (matches.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    /**
+     * Página de IDs ordenados por relevancia y total de coincidencias.
+     */
+    public record SearchResult(List<Long> ids, long total) {}
+}
@@ -0,0 +1,109 @@
+package com.bootcamp.finalproject.product.search;
+
+import com.bootcamp.finalproject.common.jdbc.ReplicaRoutingContext;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Índice de búsqueda de productos activos.
+ *
+ * Se construye al arrancar la aplicación y se mantiene de forma incremental con
+ * las escrituras de ProductService, aplicadas solo cuando la transacción confirma.
+ * Los callbacks de dos commits sobre el mismo producto pueden ejecutarse en
+ * cualquier orden, así que cada cambio lleva la versión de la entidad y solo se
+ * aplica si es más reciente que la ya indexada.
+ */
+@Component
+public class ProductSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final int REBUILD_BATCH_SIZE = 5000;
+
+    private final InvertedIndex index = new InvertedIndex();
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ProductSearchIndex(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Reconstruye el índice completo leyendo los productos activos por lotes de ID.
+     * Lee del primario: lo leído de una réplica retrasada (p. ej. un producto
+     * ya desactivado) quedaría en el índice hasta la siguiente escritura.
+     */
+    @PostConstruct
+    public void rebuild() {
+        index.clear();
+        Pageable batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        long lastId = 0;
+        List<SearchDocument> documents;
+        do {
+            long afterId = lastId;
+            documents = ReplicaRoutingContext.onPrimary(() ->
+                readOnlyTransaction.execute(status -> productRepository.findSearchDocuments(afterId, batch)));
+            for (SearchDocument document : documents) {
+                index.put(document.id(), document.version(), document.name(), document.description());
+                lastId = document.id();
+            }
+        } while (documents.size() == REBUILD_BATCH_SIZE);
+
+        log.info("Índice de búsqueda construido con {} productos", index.size());
+    }
+
+    public InvertedIndex.SearchResult search(String query, int offset, int limit) {
+        return index.search(query, offset, limit);
+    }
+
+    /**
+     * Indexa (o reindexa) un producto cuando la transacción actual confirma.
+     *
+     * Los campos y la versión se leen al confirmar, cuando el flush ya ha
+     * incrementado la versión de la entidad.
+     */
+    public void put(Product product) {
+        afterCommit(() -> index.put(product.getId(), product.getVersion(), product.getName(), product.getDescription()));
+    }
+
+    /**
+     * Indexa un producto insertado fuera de JPA cuando la transacción actual confirma.
+     */
+    public void put(Long id, long version, String name, String description) {
+        afterCommit(() -> index.put(id, version, name, description));
+    }
+
+    /**
+     * Quita un producto del índice cuando la transacción actual confirma.
+     */
+    public void remove(Product product) {
+        afterCommit(() -> index.remove(product.getId(), product.getVersion()));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,6 @@
+package com.bootcamp.finalproject.product.search;
+
+/**
+ * Campos de un producto que se indexan para la búsqueda.
+ */
+public record SearchDocument(Long id, Long version, String name, String description) {}
@@ -1,6 +1,7 @@
 package com.bootcamp.finalproject.security.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -16,23 +17,49 @@ import java.util.function.Function;
 
 /**
  * Servicio para gestión de tokens JWT.
+ *
+ * La clave de firma y el parser se construyen una sola vez al arrancar;
+ * el parser es inmutable y seguro entre hilos.
  */
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+    private final long jwtExpiration;
 
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    public JwtService(
+        @Value("${jwt.secret}") String secretKey,
+        @Value("${jwt.expiration}") long jwtExpiration
+    ) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.jwtExpiration = jwtExpiration;
+    }
+
+    /**
+     * Verifica firma y expiración y devuelve los claims en una sola lectura.
+     *
+     * @throws io.jsonwebtoken.JwtException si el token no es válido o ha expirado
+     */
+    public Claims parseAndValidate(String token) {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * Verifica el token y devuelve los datos que se guardan en VerifiedTokenCache.
+     */
+    public VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims = parseAndValidate(token);
+        return new VerifiedTokenCache.VerifiedToken(claims.getSubject(), claims.getExpiration().toInstant());
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseAndValidate(token));
     }
 
     public String generateToken(UserDetails userDetails) {
@@ -40,38 +67,18 @@ public class JwtService {
     }
 
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
             .claims(extraClaims)
             .subject(userDetails.getUsername())
-            .issuedAt(new Date(System.currentTimeMillis()))
-            .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-            .signWith(getSignInKey())
+            .issuedAt(new Date(now))
+            .expiration(new Date(now + jwtExpiration))
+            .signWith(signInKey)
             .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-            .verifyWith(getSignInKey())
-            .build()
-            .parseSignedClaims(token)
-            .getPayload();
-    }
-
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        // parseAndValidate ya rechaza tokens expirados
+        return parseAndValidate(token).getSubject().equals(userDetails.getUsername());
     }
 }
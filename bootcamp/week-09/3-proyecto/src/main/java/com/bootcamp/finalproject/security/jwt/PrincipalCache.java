@@ -0,0 +1,64 @@
+package com.bootcamp.finalproject.security.jwt;
+
+import com.bootcamp.finalproject.common.jdbc.ReplicaRoutingContext;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Caché de corta duración de usuarios autenticados, para no consultar la
+ * tabla de usuarios en cada petición con JWT.
+ *
+ * Las cargas leen del primario: un usuario recién desactivado o con otro rol
+ * no debe volver a la caché desde una réplica retrasada.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, UserDetails> principals;
+
+    public PrincipalCache(
+        MeterRegistry meterRegistry,
+        @Value("${jwt.cache.max-principals:10000}") long maxPrincipals,
+        @Value("${jwt.cache.principal-ttl:30s}") Duration ttl
+    ) {
+        this.principals = Caffeine.newBuilder()
+            .maximumSize(maxPrincipals)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "jwt.principals");
+    }
+
+    public UserDetails get(String username, Function<String, UserDetails> loader) {
+        return principals.get(username, key -> ReplicaRoutingContext.onPrimary(() -> loader.apply(key)));
+    }
+
+    /**
+     * Elimina un usuario de la caché (p. ej. al desactivarlo o cambiar su rol).
+     * Dentro de una transacción, vuelve a eliminarlo al terminarla para descartar
+     * cargas concurrentes de la versión anterior.
+     */
+    public void evict(String username) {
+        principals.invalidate(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    principals.invalidate(username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.bootcamp.finalproject.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Caché de tokens JWT ya verificados (firma y expiración).
+ *
+ * La clave es el hash SHA-256 del token, no el token en sí, y cada entrada
+ * expira como muy tarde en el instante de expiración del token.
+ *
+ * Cada validación, desde caché o no, se mide en el timer {@code jwt.validation}
+ * con la etiqueta {@code result}: hit, miss o invalid.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    static final String METRIC_NAME = "jwt.validation";
+
+    private final Cache<String, VerifiedToken> tokens;
+    private final Timer hits;
+    private final Timer misses;
+    private final Timer invalid;
+
+    public VerifiedTokenCache(
+        MeterRegistry meterRegistry,
+        @Value("${jwt.cache.max-tokens:10000}") long maxTokens,
+        @Value("${jwt.cache.max-token-ttl:15m}") Duration maxTtl
+    ) {
+        this.tokens = Caffeine.newBuilder()
+            .maximumSize(maxTokens)
+            .expireAfter(new TokenExpiry(maxTtl))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.tokens");
+        this.hits = validationTimer(meterRegistry, "hit");
+        this.misses = validationTimer(meterRegistry, "miss");
+        this.invalid = validationTimer(meterRegistry, "invalid");
+    }
+
+    /**
+     * Devuelve el token verificado desde caché o lo verifica con {@code verifier}.
+     * Si la verificación falla, la excepción se propaga y no se guarda nada.
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        long started = System.nanoTime();
+        boolean[] loaded = new boolean[1];
+        Timer timer = invalid;
+        try {
+            VerifiedToken verified = tokens.get(hash(token), key -> {
+                loaded[0] = true;
+                return verifier.apply(token);
+            });
+            if (!verified.expiresAt().isAfter(Instant.now())) {
+                tokens.invalidate(hash(token));
+                throw new IllegalStateException("Token expirado");
+            }
+            timer = loaded[0] ? misses : hits;
+            return verified;
+        } finally {
+            timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static Timer validationTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder(METRIC_NAME)
+            .description("Tiempo de validación de tokens JWT, desde caché o verificando la firma")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+
+    /**
+     * Datos mínimos de un token verificado.
+     */
+    public record VerifiedToken(String username, Instant expiresAt) {}
+
+    private record TokenExpiry(Duration maxTtl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            long untilExpiration = Duration.between(Instant.now(), token.expiresAt()).toNanos();
+            return Math.max(0, Math.min(untilExpiration, maxTtl.toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
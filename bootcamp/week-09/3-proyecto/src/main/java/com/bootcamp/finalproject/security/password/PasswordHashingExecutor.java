@@ -0,0 +1,77 @@
+package com.bootcamp.finalproject.security.password;
+
+import com.bootcamp.finalproject.common.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool acotado para las operaciones de hashing de contraseñas (BCrypt).
+ *
+ * Aísla el coste de CPU del login y el registro de los hilos de Tomcat:
+ * con todos los hilos ocupados y la cola llena, las nuevas tareas se
+ * rechazan de inmediato con un 503 en lugar de acumularse.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingExecutor(
+        MeterRegistry meterRegistry,
+        @Value("${security.password.hashing.threads:0}") int threads,
+        @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            threadFactory(),
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        new ExecutorServiceMetrics(executor, "password.hashing", List.of()).bindTo(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la tarea en el pool de hashing.
+     *
+     * @throws ServiceUnavailableException si el pool y su cola están llenos
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException ex) {
+            throw new ServiceUnavailableException("Demasiadas solicitudes de autenticación, intenta de nuevo");
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
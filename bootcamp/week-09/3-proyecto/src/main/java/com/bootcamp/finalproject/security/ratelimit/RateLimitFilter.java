@@ -0,0 +1,89 @@
+package com.bootcamp.finalproject.security.ratelimit;
+
+import com.bootcamp.finalproject.common.dto.ErrorResponse;
+import com.bootcamp.finalproject.security.jwt.JwtService;
+import com.bootcamp.finalproject.security.jwt.VerifiedTokenCache;
+import com.bootcamp.finalproject.security.ratelimit.RateLimitProperties.Policy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro de rate limiting, anterior a la autenticación JWT: una petición
+ * rechazada no llega a cargar el usuario ni a abrir transacción.
+ *
+ * Con un token válido el límite es por usuario (la verificación del token sale
+ * de VerifiedTokenCache); sin token, o con uno inválido, es por IP. La IP es
+ * la dirección remota; detrás de un proxy debe configurarse
+ * {@code server.forward-headers-strategy} en lugar de confiar en cabeceras.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimiter rateLimiter;
+    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(
+        RateLimiter rateLimiter,
+        JwtService jwtService,
+        VerifiedTokenCache tokenCache,
+        ObjectMapper objectMapper
+    ) {
+        this.rateLimiter = rateLimiter;
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Policy policy = rateLimiter.match(request.getMethod(), path);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long wait = rateLimiter.tryAcquire(policy, client(request));
+        if (wait == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long retryAfter = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+            new ErrorResponse("Demasiadas solicitudes, intenta de nuevo más tarde", "TOO_MANY_REQUESTS"));
+    }
+
+    private String client(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                return "user:" + tokenCache.get(authHeader.substring(7), jwtService::verify).username();
+            } catch (Exception e) {
+                // Token inválido: se limita por IP
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,38 @@
+package com.bootcamp.finalproject.security.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuración del rate limiting ({@code security.rate-limit.*}).
+ *
+ * Las políticas se evalúan en orden y se aplica la primera que coincide con el
+ * método y la ruta de la petición; las peticiones sin política no se limitan.
+ */
+@ConfigurationProperties(prefix = "security.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100000") long maxBuckets,
+    @DefaultValue List<Policy> policies
+) {
+
+    /**
+     * Política de una ruta.
+     *
+     * @param name     nombre de la política (prefijo de la clave del bucket y etiqueta de métricas)
+     * @param method   método HTTP, o vacío para cualquiera
+     * @param path     patrón de ruta estilo Ant, p. ej. {@code /api/orders/**}
+     * @param capacity peticiones permitidas en ráfaga y por periodo
+     * @param period   periodo en el que se reponen {@code capacity} peticiones
+     */
+    public record Policy(
+        String name,
+        String method,
+        String path,
+        long capacity,
+        @DefaultValue("1m") Duration period
+    ) {}
+}
@@ -0,0 +1,88 @@
+package com.bootcamp.finalproject.security.ratelimit;
+
+import com.bootcamp.finalproject.security.ratelimit.RateLimitProperties.Policy;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Buckets de rate limiting por política y cliente.
+ *
+ * Los buckets viven en una caché Caffeine acotada: las lecturas no bloquean y
+ * cada bucket se actualiza con CAS, así que no hay ningún lock global. Un
+ * bucket sin uso durante el periodo más largo de las políticas ya estaría
+ * lleno de nuevo, por lo que puede olvidarse sin cambiar el resultado.
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+
+    private final boolean enabled;
+    private final List<Policy> policies;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<String, Counter> rejected = new HashMap<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.enabled();
+        this.policies = List.copyOf(properties.policies());
+
+        Duration idle = policies.stream().map(Policy::period).max(Duration::compareTo).orElse(Duration.ofMinutes(1));
+        this.buckets = Caffeine.newBuilder()
+            .maximumSize(properties.maxBuckets())
+            .expireAfterAccess(idle)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit.buckets");
+
+        for (Policy policy : policies) {
+            rejected.put(policy.name(), Counter.builder("rate-limit.rejected")
+                .description("Peticiones rechazadas por rate limiting")
+                .tag("policy", policy.name())
+                .register(meterRegistry));
+        }
+    }
+
+    /**
+     * @return la primera política que aplica a la petición, o {@code null} si no se limita
+     */
+    public Policy match(String method, String path) {
+        if (!enabled) {
+            return null;
+        }
+        for (Policy policy : policies) {
+            boolean methodMatches = policy.method() == null || policy.method().isBlank()
+                || policy.method().equalsIgnoreCase(method);
+            if (methodMatches && pathMatcher.match(policy.path(), path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Consume un token del bucket del cliente para la política.
+     *
+     * @return 0 si se permite la petición, o los nanosegundos hasta poder reintentar
+     */
+    public long tryAcquire(Policy policy, String client) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(policy.name() + '|' + client,
+            key -> new TokenBucket(policy.capacity(), policy.period(), now));
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            rejected.get(policy.name()).increment();
+        }
+        return wait;
+    }
+}
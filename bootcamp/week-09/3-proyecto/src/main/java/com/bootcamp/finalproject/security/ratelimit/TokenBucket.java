@@ -0,0 +1,50 @@
+package com.bootcamp.finalproject.security.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sin bloqueos: {@code capacity} peticiones de ráfaga que se
+ * reponen a razón de {@code capacity} por {@code period}.
+ *
+ * Se implementa como GCRA (generic cell rate algorithm): en lugar de guardar
+ * tokens y marca de tiempo, guarda un único instante teórico de llegada (TAT)
+ * en un AtomicLong que se actualiza con compareAndSet. Admite lo mismo que un
+ * token bucket de esa capacidad y tasa, sin locks ni objetos por petición.
+ */
+public final class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(long capacity, Duration period, long nowNanos) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser al menos 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, period.toNanos() / capacity);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Intenta consumir un token.
+     *
+     * @param nowNanos instante actual según {@link System#nanoTime()}
+     * @return 0 si se concede, o los nanosegundos que faltan para el siguiente token
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrival.get();
+            // Comparaciones por diferencia: nanoTime puede desbordar
+            long start = tat - nowNanos > 0 ? tat : nowNanos;
+            long wait = start - nowNanos - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, start + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+}
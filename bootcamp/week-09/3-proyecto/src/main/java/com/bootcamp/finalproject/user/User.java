@@ -14,10 +14,12 @@ import java.util.List;
  */
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 public class User extends AuditableEntity implements UserDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -0,0 +1,24 @@
+package com.bootcamp.finalproject.user;
+
+import com.bootcamp.finalproject.security.jwt.PrincipalCache;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA que invalida la caché de usuarios autenticados cuando un
+ * usuario cambia (rol, estado activo, etc.) o se elimina.
+ */
+public class UserChangeListener {
+
+    private final PrincipalCache principalCache;
+
+    public UserChangeListener(PrincipalCache principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    void onChange(User user) {
+        principalCache.evict(user.getEmail());
+    }
+}
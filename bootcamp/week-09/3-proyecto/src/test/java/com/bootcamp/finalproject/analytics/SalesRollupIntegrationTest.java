@@ -0,0 +1,224 @@
+package com.bootcamp.finalproject.analytics;
+
+import com.bootcamp.finalproject.analytics.dto.CategorySalesResponse;
+import com.bootcamp.finalproject.analytics.dto.ProductSalesResponse;
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.order.OrderService;
+import com.bootcamp.finalproject.order.OrderStatus;
+import com.bootcamp.finalproject.order.dto.CreateOrderRequest;
+import com.bootcamp.finalproject.order.dto.OrderItemRequest;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductRepository;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración para los resúmenes de ventas.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SalesRollupIntegrationTest {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final LocalDate today = LocalDate.now();
+
+    private Category clothing;
+    private Category shoes;
+    private Product shirt;
+    private Product socks;
+    private Product boots;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        // Partir de resúmenes coherentes con las órdenes ya existentes
+        salesRollupService.rebuild();
+
+        clothing = categoryRepository.save(new Category("Rollup Clothing " + System.nanoTime(), "Test"));
+        shoes = categoryRepository.save(new Category("Rollup Shoes " + System.nanoTime(), "Test"));
+        shirt = productRepository.save(new Product("Shirt", null, new BigDecimal("10.00"), 100, clothing));
+        socks = productRepository.save(new Product("Socks", null, new BigDecimal("2.50"), 100, clothing));
+        boots = productRepository.save(new Product("Boots", null, new BigDecimal("40.00"), 100, shoes));
+        user = userRepository.save(new User("Rollup User", "rollup" + System.nanoTime() + "@example.com", "secret"));
+    }
+
+    @Test
+    @DisplayName("Los resúmenes incrementales coinciden con un recálculo completo")
+    void incrementalRollups_MatchFullRecomputation() {
+        // Arrange & Act: creación, cancelación y cambios de estado desde/hacia CANCELLED
+        order(item(shirt, 2), item(socks, 1), item(boots, 3));
+        order(item(shirt, 1), item(shirt, 4));
+        Long cancelled = order(item(boots, 1));
+        orderService.cancel(cancelled, user);
+        Long restored = order(item(socks, 2));
+        orderService.updateStatus(restored, OrderStatus.CANCELLED);
+        orderService.updateStatus(restored, OrderStatus.CONFIRMED);
+        Long shippedThenCancelled = order(item(shirt, 1));
+        orderService.updateStatus(shippedThenCancelled, OrderStatus.SHIPPED);
+        orderService.updateStatus(shippedThenCancelled, OrderStatus.CANCELLED);
+
+        List<Map<String, Object>> incrementalProducts = productRows();
+        List<Map<String, Object>> incrementalCategories = categoryRows();
+
+        entityManager.flush();
+        salesRollupService.rebuild();
+
+        // Assert
+        assertThat(incrementalProducts).isEqualTo(productRows());
+        assertThat(incrementalCategories).isEqualTo(categoryRows());
+
+        List<CategorySalesResponse> categories = salesRollupService.findCategorySales(today, today);
+        assertThat(categories).filteredOn(sales -> sales.categoryId().equals(clothing.getId()))
+            .singleElement()
+            .satisfies(sales -> {
+                assertThat(sales.units()).isEqualTo(10);
+                assertThat(sales.revenue()).isEqualByComparingTo("77.50");
+                assertThat(sales.orderCount()).isEqualTo(3);
+            });
+        assertThat(categories).filteredOn(sales -> sales.categoryId().equals(shoes.getId()))
+            .singleElement()
+            .satisfies(sales -> assertThat(sales.orderCount()).isEqualTo(1));
+
+        List<ProductSalesResponse> products = salesRollupService.findProductSales(today, today, clothing.getId());
+        assertThat(products).extracting(ProductSalesResponse::productId)
+            .containsExactly(shirt.getId(), socks.getId());
+        assertThat(products.get(0).units()).isEqualTo(7);
+        assertThat(products.get(0).orderCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Recategorizar un producto no mueve las ventas ya contadas")
+    void recategorizedProduct_KeepsCategoryOfPlacedOrders() {
+        // Arrange: pedido con la camisa en Clothing, luego pasa a Shoes
+        Long placedBefore = order(item(shirt, 2));
+        entityManager.refresh(shirt);
+        shirt.setCategory(shoes);
+        productRepository.saveAndFlush(shirt);
+        order(item(shirt, 1));
+
+        // Act: cancelar el pedido anterior al cambio
+        orderService.updateStatus(placedBefore, OrderStatus.CANCELLED);
+
+        List<Map<String, Object>> incrementalProducts = productRows();
+        List<Map<String, Object>> incrementalCategories = categoryRows();
+        entityManager.flush();
+        salesRollupService.rebuild();
+
+        // Assert: Clothing vuelve a cero y Shoes solo tiene la venta posterior
+        assertThat(incrementalProducts).isEqualTo(productRows());
+        assertThat(incrementalCategories).isEqualTo(categoryRows());
+
+        List<CategorySalesResponse> categories = salesRollupService.findCategorySales(today, today);
+        assertThat(categories).noneMatch(sales -> sales.categoryId().equals(clothing.getId()));
+        assertThat(categories).filteredOn(sales -> sales.categoryId().equals(shoes.getId()))
+            .singleElement()
+            .satisfies(sales -> {
+                assertThat(sales.units()).isEqualTo(1);
+                assertThat(sales.revenue()).isEqualByComparingTo("10.00");
+            });
+        assertThat(salesRollupService.findProductSales(today, today, shoes.getId()))
+            .extracting(ProductSalesResponse::productId)
+            .containsExactly(shirt.getId());
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/sales/categories - Ventas por categoría como ADMIN")
+    @WithMockUser(roles = "ADMIN")
+    void findCategorySales_AsAdmin() throws Exception {
+        order(item(boots, 2));
+
+        mockMvc.perform(get("/api/analytics/sales/categories")
+            .param("from", today.minusDays(7).toString())
+            .param("to", today.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.categoryId == " + shoes.getId() + ")].units", is(List.of(2))))
+            .andExpect(jsonPath("$[?(@.categoryId == " + shoes.getId() + ")].orderCount", is(List.of(1))));
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/sales/products - Rango de fechas invertido")
+    @WithMockUser(roles = "ADMIN")
+    void findProductSales_InvalidRange() throws Exception {
+        mockMvc.perform(get("/api/analytics/sales/products")
+            .param("from", today.toString())
+            .param("to", today.minusDays(1).toString()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/analytics/sales/products - Requiere rol ADMIN")
+    @WithMockUser(roles = "USER")
+    void findProductSales_AsUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/analytics/sales/products")
+            .param("from", today.toString())
+            .param("to", today.toString()))
+            .andExpect(status().isForbidden());
+    }
+
+    private Long order(OrderItemRequest... items) {
+        return orderService.create(new CreateOrderRequest("Calle 1", null, List.of(items)), user).id();
+    }
+
+    private static OrderItemRequest item(Product product, int quantity) {
+        return new OrderItemRequest(product.getId(), quantity);
+    }
+
+    private List<Map<String, Object>> productRows() {
+        return jdbcTemplate.queryForList(
+            "SELECT * FROM daily_product_sales WHERE order_count <> 0 ORDER BY sales_date, product_id");
+    }
+
+    private List<Map<String, Object>> categoryRows() {
+        return jdbcTemplate.queryForList(
+            "SELECT * FROM daily_category_sales WHERE order_count <> 0 ORDER BY sales_date, category_id");
+    }
+}
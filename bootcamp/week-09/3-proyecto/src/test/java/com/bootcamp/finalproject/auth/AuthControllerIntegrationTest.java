@@ -2,6 +2,9 @@ package com.bootcamp.finalproject.auth;
 
 import com.bootcamp.finalproject.auth.dto.LoginRequest;
 import com.bootcamp.finalproject.auth.dto.RegisterRequest;
+import com.bootcamp.finalproject.security.password.PasswordHashingExecutor;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,10 +14,23 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,6 +48,12 @@ class AuthControllerIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingExecutor hashingExecutor;
+
     private RegisterRequest validRegisterRequest;
 
     @BeforeEach
@@ -47,7 +69,7 @@ class AuthControllerIntegrationTest {
     @DisplayName("POST /api/auth/register - Registro exitoso")
     void register_Success() throws Exception {
         // Act
-        ResultActions result = mockMvc.perform(post("/api/auth/register")
+        ResultActions result = perform(post("/api/auth/register")
             .contentType(MediaType.APPLICATION_JSON)
             .content(objectMapper.writeValueAsString(validRegisterRequest)));
 
@@ -71,7 +93,7 @@ class AuthControllerIntegrationTest {
         );
 
         // Act
-        ResultActions result = mockMvc.perform(post("/api/auth/register")
+        ResultActions result = perform(post("/api/auth/register")
             .contentType(MediaType.APPLICATION_JSON)
             .content(objectMapper.writeValueAsString(invalidRequest)));
 
@@ -89,7 +111,7 @@ class AuthControllerIntegrationTest {
         RegisterRequest emptyRequest = new RegisterRequest("", "", "");
 
         // Act
-        ResultActions result = mockMvc.perform(post("/api/auth/register")
+        ResultActions result = perform(post("/api/auth/register")
             .contentType(MediaType.APPLICATION_JSON)
             .content(objectMapper.writeValueAsString(emptyRequest)));
 
@@ -103,7 +125,7 @@ class AuthControllerIntegrationTest {
     @DisplayName("POST /api/auth/login - Login exitoso")
     void login_Success() throws Exception {
         // Arrange - Primero registrar usuario
-        mockMvc.perform(post("/api/auth/register")
+        perform(post("/api/auth/register")
             .contentType(MediaType.APPLICATION_JSON)
             .content(objectMapper.writeValueAsString(validRegisterRequest)));
 
@@ -113,7 +135,7 @@ class AuthControllerIntegrationTest {
         );
 
         // Act
-        ResultActions result = mockMvc.perform(post("/api/auth/login")
+        ResultActions result = perform(post("/api/auth/login")
             .contentType(MediaType.APPLICATION_JSON)
             .content(objectMapper.writeValueAsString(loginRequest)));
 
@@ -134,7 +156,7 @@ class AuthControllerIntegrationTest {
         );
 
         // Act
-        ResultActions result = mockMvc.perform(post("/api/auth/login")
+        ResultActions result = perform(post("/api/auth/login")
             .contentType(MediaType.APPLICATION_JSON)
             .content(objectMapper.writeValueAsString(invalidRequest)));
 
@@ -142,4 +164,71 @@ class AuthControllerIntegrationTest {
         result.andExpect(status().isUnauthorized())
             .andExpect(jsonPath("$.code", is("INVALID_CREDENTIALS")));
     }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Re-hashea contraseñas heredadas sin prefijo")
+    void login_UpgradesLegacyHash() throws Exception {
+        // Arrange - hash BCrypt sin prefijo {bcrypt}, como los existentes
+        String email = "legacy" + System.nanoTime() + "@example.com";
+        userRepository.save(new User("Legacy", email, new BCryptPasswordEncoder(4).encode("password123")));
+
+        // Act
+        ResultActions result = perform(post("/api/auth/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(new LoginRequest(email, "password123"))));
+
+        // Assert
+        result.andExpect(status().isOk());
+        assertThat(userRepository.findByEmail(email).orElseThrow().getPassword()).startsWith("{bcrypt}$2a$10$");
+    }
+
+    @Test
+    @DisplayName("POST /api/auth/login - Con el pool de hashing saturado responde 503 sin afectar al catálogo")
+    void login_RejectedWhenHashingPoolIsSaturated() throws Exception {
+        // Arrange - ocupar los 2 hilos del pool de test y después llenar su cola
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Boolean>> blockers = new ArrayList<>();
+        Supplier<Boolean> blocker = () -> {
+            started.countDown();
+            try {
+                return release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        };
+        blockers.add(hashingExecutor.submit(blocker));
+        blockers.add(hashingExecutor.submit(blocker));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        blockers.add(hashingExecutor.submit(blocker));
+        blockers.add(hashingExecutor.submit(blocker));
+
+        try {
+            // Act
+            ResultActions login = perform(post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new LoginRequest("storm@example.com", "password123"))));
+            ResultActions catalog = mockMvc.perform(get("/api/products"));
+
+            // Assert
+            login.andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.code", is("SERVICE_UNAVAILABLE")));
+            catalog.andExpect(status().isOk());
+        } finally {
+            release.countDown();
+            CompletableFuture.allOf(blockers.toArray(CompletableFuture[]::new)).join();
+        }
+    }
+
+    /**
+     * Ejecuta la petición y, si el controlador respondió de forma asíncrona,
+     * espera el resultado y lo despacha.
+     */
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
 }
@@ -0,0 +1,114 @@
+package com.bootcamp.finalproject.auth;
+
+import com.bootcamp.finalproject.auth.dto.LoginRequest;
+import com.bootcamp.finalproject.auth.dto.RegisterRequest;
+import com.bootcamp.finalproject.security.jwt.JwtService;
+import com.bootcamp.finalproject.security.password.PasswordHashingExecutor;
+import com.bootcamp.finalproject.user.Role;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para AuthService: el pool de hashing no accede a la base de datos.
+ */
+class AuthServiceTest {
+
+    private final List<String> repositoryThreads = new CopyOnWriteArrayList<>();
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+
+    private UserRepository userRepository;
+    private ExecutorService taskExecutor;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        JwtService jwtService = mock(JwtService.class);
+        when(jwtService.generateToken(any())).thenReturn("token");
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
+            repositoryThreads.add(Thread.currentThread().getName());
+            return invocation.getArgument(0);
+        });
+
+        taskExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "task-1"));
+        authService = new AuthService(userRepository, passwordEncoder, jwtService,
+            new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 4), taskExecutor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+    }
+
+    @Test
+    @DisplayName("register - Guarda el usuario fuera del pool de hashing")
+    void register_SavesOutsideHashingPool() {
+        authService.register(new RegisterRequest("Ana", "ana@example.com", "password123")).join();
+
+        assertThat(repositoryThreads).containsExactly("task-1");
+    }
+
+    @Test
+    @DisplayName("login - Busca en el hilo de la petición y re-hashea fuera del pool de hashing")
+    void login_LooksUpOnCallerAndSavesOutsideHashingPool() {
+        // Arrange - hash con coste menor: requiere re-hash al iniciar sesión
+        User user = user(new BCryptPasswordEncoder(4).encode("password123"));
+        authService = new AuthService(userRepository, new BCryptPasswordEncoder(5), mock(JwtService.class),
+            new PasswordHashingExecutor(new SimpleMeterRegistry(), 1, 4), taskExecutor);
+        when(userRepository.findByEmail("ana@example.com")).thenAnswer(invocation -> {
+            repositoryThreads.add(Thread.currentThread().getName());
+            return Optional.of(user);
+        });
+
+        // Act
+        authService.login(new LoginRequest("ana@example.com", "password123")).join();
+
+        // Assert
+        assertThat(repositoryThreads).containsExactly(Thread.currentThread().getName(), "task-1");
+        assertThat(user.getPassword()).startsWith("$2a$05$");
+    }
+
+    @Test
+    @DisplayName("login - Contraseña incorrecta o email inexistente: credenciales inválidas sin guardar")
+    void login_InvalidCredentials() {
+        when(userRepository.findByEmail("ana@example.com"))
+            .thenReturn(Optional.of(user(passwordEncoder.encode("password123"))));
+
+        assertThatThrownBy(() -> authService.login(new LoginRequest("ana@example.com", "otra")).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> authService.login(new LoginRequest("nadie@example.com", "password123")).join())
+            .hasCauseInstanceOf(BadCredentialsException.class);
+        verify(userRepository, never()).save(any(User.class));
+    }
+
+    private static User user(String passwordHash) {
+        User user = new User("Ana", "ana@example.com", passwordHash);
+        user.setRole(Role.USER);
+        user.setActive(true);
+        return user;
+    }
+}
@@ -0,0 +1,121 @@
+package com.bootcamp.finalproject.category;
+
+import com.bootcamp.finalproject.category.dto.CategoryResponse;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.bulk.ProductImportRepository;
+import com.bootcamp.finalproject.product.bulk.ProductImportRepository.NewProduct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración para CategoryService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class CategoryServiceIntegrationTest {
+
+    private static final int CATEGORIES = 100;
+    private static final int PRODUCTS_PER_CATEGORY = 100;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductImportRepository productImportRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Category> categories;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "Count Category " + System.nanoTime() + " ";
+        categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categories.add(new Category(prefix + i, "Test"));
+        }
+        categories = categoryRepository.saveAll(categories);
+        entityManager.flush();
+
+        List<NewProduct> products = new ArrayList<>();
+        for (Category category : categories) {
+            for (int i = 0; i < PRODUCTS_PER_CATEGORY; i++) {
+                products.add(new NewProduct("Product " + i, null, new BigDecimal("1.00"), 1, null, category.getId()));
+            }
+        }
+        productImportRepository.insert(products);
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("findAll - Cuenta los productos con una consulta agregada sin cargar productos")
+    void findAll_CountsProductsWithoutLoadingThem() {
+        // Arrange: 10.000 productos repartidos en 100 categorías
+        Statistics statistics = statistics();
+
+        // Act
+        List<CategoryResponse> responses = categoryService.findAll();
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityStatistics(Product.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+
+        Map<Long, CategoryResponse> byId = responses.stream()
+            .collect(Collectors.toMap(CategoryResponse::id, Function.identity()));
+        assertThat(categories).allSatisfy(category ->
+            assertThat(byId.get(category.getId()).productCount()).isEqualTo(PRODUCTS_PER_CATEGORY));
+    }
+
+    @Test
+    @DisplayName("findById - Ignora productos desactivados y categorías vacías")
+    void findById_CountsOnlyActiveProducts() {
+        // Arrange
+        Category category = categories.get(0);
+        jdbcTemplate.update(
+            "UPDATE products SET active = false WHERE category_id = ? AND name IN ('Product 0', 'Product 1')",
+            category.getId());
+        Category empty = categoryRepository.save(new Category("Empty Category " + System.nanoTime(), "Test"));
+
+        // Act & Assert
+        assertThat(categoryService.findById(category.getId()).productCount())
+            .isEqualTo(PRODUCTS_PER_CATEGORY - 2);
+        assertThat(categoryService.findById(empty.getId()).productCount()).isZero();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,91 @@
+package com.bootcamp.finalproject.common.idempotency;
+
+import com.bootcamp.finalproject.common.exception.BadRequestException;
+import com.bootcamp.finalproject.common.exception.IdempotencyKeyReusedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para IdempotencyStore.
+ */
+class IdempotencyStoreTest {
+
+    private IdempotencyStore store;
+    private AtomicInteger executions;
+
+    @BeforeEach
+    void setUp() {
+        store = new IdempotencyStore(new ObjectMapper(), new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+        executions = new AtomicInteger();
+    }
+
+    @Test
+    @DisplayName("execute - Una repetición devuelve el resultado guardado sin ejecutar de nuevo")
+    void execute_ReplaysStoredResult() {
+        IdempotencyStore.Result<Integer> first = store.execute("scope", "key-1", new Payload("a", 1), this::run);
+        IdempotencyStore.Result<Integer> replay = store.execute("scope", "key-1", new Payload("a", 1), this::run);
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.value()).isEqualTo(first.value());
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute - La misma clave con otra petición se rechaza")
+    void execute_DifferentRequest_Rejected() {
+        store.execute("scope", "key-1", new Payload("a", 1), this::run);
+
+        assertThatThrownBy(() -> store.execute("scope", "key-1", new Payload("a", 2), this::run))
+            .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("execute - Las claves son independientes por ámbito")
+    void execute_ScopesAreIsolated() {
+        store.execute("user:1", "key-1", new Payload("a", 1), this::run);
+        IdempotencyStore.Result<Integer> other = store.execute("user:2", "key-1", new Payload("a", 1), this::run);
+
+        assertThat(other.replayed()).isFalse();
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("execute - Un fallo no se guarda y el reintento vuelve a ejecutar")
+    void execute_FailureIsNotStored() {
+        assertThatThrownBy(() -> store.execute("scope", "key-1", new Payload("a", 1), () -> {
+            executions.incrementAndGet();
+            throw new IllegalStateException("fallo");
+        })).isInstanceOf(IllegalStateException.class);
+
+        IdempotencyStore.Result<Integer> retry = store.execute("scope", "key-1", new Payload("a", 1), this::run);
+
+        assertThat(retry.replayed()).isFalse();
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("execute - Clave vacía o demasiado larga")
+    void execute_InvalidKey() {
+        assertThatThrownBy(() -> store.execute("scope", " ", new Payload("a", 1), this::run))
+            .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> store.execute("scope", "k".repeat(256), new Payload("a", 1), this::run))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    private Integer run() {
+        return executions.incrementAndGet();
+    }
+
+    private record Payload(String name, int quantity) {}
+}
@@ -0,0 +1,108 @@
+package com.bootcamp.finalproject.common.jdbc;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests unitarios para AdmissionControlDataSource.
+ */
+class AdmissionControlDataSourceTest {
+
+    private DataSource target;
+    private AdmissionControlDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        Connection pooled = mock(Connection.class);
+        when(target.getConnection()).thenReturn(pooled);
+        dataSource = new AdmissionControlDataSource(target, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    @DisplayName("getConnection - Rechaza al superar el máximo de conexiones concurrentes")
+    void getConnection_RejectsBeyondLimit() throws Exception {
+        // Arrange
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("close - Cerrar dos veces la misma conexión libera un único permiso")
+    void close_ReleasesPermitOnce() throws Exception {
+        // Arrange
+        Connection connection = dataSource.getConnection();
+
+        // Act
+        connection.close();
+        connection.close();
+
+        // Assert
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getConnection - Un fallo del pool no consume el permiso")
+    void getConnection_ReleasesPermitOnFailure() throws Exception {
+        // Arrange
+        when(target.getConnection()).thenThrow(new SQLTransientConnectionException("pool agotado"));
+
+        // Act & Assert
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("getConnection - Miles de hilos virtuales nunca superan el límite")
+    void getConnection_BoundsConcurrencyOfVirtualThreads() throws Exception {
+        // Arrange
+        AdmissionControlDataSource gate = new AdmissionControlDataSource(target, 4, Duration.ofSeconds(30));
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2000; i++) {
+                results.add(executor.submit(() -> {
+                    try (Connection connection = gate.getConnection()) {
+                        maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                        Thread.sleep(1);
+                        inUse.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        // Assert
+        assertThat(maxInUse.get()).isLessThanOrEqualTo(4);
+        assertThat(gate.getAvailablePermits()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,149 @@
+package com.bootcamp.finalproject.common.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para ReadWriteRoutingDataSource, con dos bases H2 en memoria
+ * como primario y réplica.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private FailingDataSource replica;
+    private ReadWriteRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        replica = new FailingDataSource(h2("rw_replica"));
+        routing = new ReadWriteRoutingDataSource(h2("rw_primary"), replica, Duration.ofSeconds(1));
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.close();
+    }
+
+    @Test
+    @DisplayName("Las transacciones readOnly van a la réplica y el resto al primario")
+    void routesByTransactionType() {
+        assertThat(readOnlyDatabase()).isEqualTo("RW_REPLICA");
+        assertThat(readWriteDatabase()).isEqualTo("RW_PRIMARY");
+        assertThat(database()).isEqualTo("RW_PRIMARY");
+    }
+
+    @Test
+    @DisplayName("Tras escribir, la misma petición lee del primario")
+    void readYourWrites_WithinRequest() {
+        boolean[] notified = new boolean[1];
+        ReplicaRoutingContext.open(false, () -> notified[0] = true);
+
+        assertThat(readOnlyDatabase()).isEqualTo("RW_REPLICA");
+        readWriteDatabase();
+
+        assertThat(readOnlyDatabase()).isEqualTo("RW_PRIMARY");
+        assertThat(ReplicaRoutingContext.hasWritten()).isTrue();
+        assertThat(notified[0]).isTrue();
+    }
+
+    @Test
+    @DisplayName("Una petición fijada lee del primario desde el principio")
+    void pinnedRequest_ReadsFromPrimary() {
+        ReplicaRoutingContext.open(true, () -> {});
+
+        assertThat(readOnlyDatabase()).isEqualTo("RW_PRIMARY");
+        assertThat(ReplicaRoutingContext.hasWritten()).isFalse();
+    }
+
+    @Test
+    @DisplayName("onPrimary lee del primario sin marcar la petición como escritura")
+    void onPrimary_ReadsFromPrimaryWithoutPinning() {
+        boolean[] notified = new boolean[1];
+        ReplicaRoutingContext.open(false, () -> notified[0] = true);
+
+        assertThat(ReplicaRoutingContext.onPrimary(this::readOnlyDatabase)).isEqualTo("RW_PRIMARY");
+        assertThat(ReplicaRoutingContext.onPrimary(() -> ReplicaRoutingContext.onPrimary(this::readOnlyDatabase)))
+            .isEqualTo("RW_PRIMARY");
+
+        assertThat(readOnlyDatabase()).isEqualTo("RW_REPLICA");
+        assertThat(ReplicaRoutingContext.hasWritten()).isFalse();
+        assertThat(notified[0]).isFalse();
+    }
+
+    @Test
+    @DisplayName("Con la réplica caída se lee del primario hasta que vuelve a validarse")
+    void replicaDown_FallsBackToPrimary() {
+        // Act: la réplica falla al conectar
+        replica.down = true;
+
+        // Assert
+        assertThat(readOnlyDatabase()).isEqualTo("RW_PRIMARY");
+        assertThat(routing.isReplicaUp()).isFalse();
+        assertThat(routing.checkReplica()).isFalse();
+
+        // Act: la réplica se recupera
+        replica.down = false;
+
+        // Assert: sigue sin usarse hasta la siguiente validación
+        assertThat(readOnlyDatabase()).isEqualTo("RW_PRIMARY");
+        assertThat(routing.checkReplica()).isTrue();
+        assertThat(readOnlyDatabase()).isEqualTo("RW_REPLICA");
+    }
+
+    private String readOnlyDatabase() {
+        return readOnly.execute(status -> database());
+    }
+
+    private String readWriteDatabase() {
+        return readWrite.execute(status -> database());
+    }
+
+    private String database() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+
+    private static DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static class FailingDataSource extends DelegatingDataSource {
+
+        private volatile boolean down;
+
+        FailingDataSource(DriverManagerDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLTransientConnectionException("Réplica caída");
+            }
+            return super.getConnection();
+        }
+    }
+}
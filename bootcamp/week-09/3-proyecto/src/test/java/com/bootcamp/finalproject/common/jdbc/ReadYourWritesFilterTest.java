@@ -0,0 +1,83 @@
+package com.bootcamp.finalproject.common.jdbc;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para ReadYourWritesFilter.
+ */
+class ReadYourWritesFilterTest {
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1), 100);
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Tras una escritura, las siguientes peticiones del usuario quedan fijadas al primario")
+    void write_PinsLaterRequestsOfSameUser() throws Exception {
+        authenticate("ana@example.com");
+        assertThat(pinnedDuring(request(), ReplicaRoutingContext::markWrite)).isFalse();
+        assertThat(pinnedDuring(request(), () -> {})).isTrue();
+
+        authenticate("luis@example.com");
+        assertThat(pinnedDuring(request(), () -> {})).isFalse();
+    }
+
+    @Test
+    @DisplayName("Sin autenticación la ventana se aplica por IP")
+    void anonymous_PinsByIp() throws Exception {
+        MockHttpServletRequest first = request();
+        first.setRemoteAddr("10.1.0.1");
+        pinnedDuring(first, ReplicaRoutingContext::markWrite);
+
+        MockHttpServletRequest sameIp = request();
+        sameIp.setRemoteAddr("10.1.0.1");
+        MockHttpServletRequest otherIp = request();
+        otherIp.setRemoteAddr("10.1.0.2");
+
+        assertThat(pinnedDuring(sameIp, () -> {})).isTrue();
+        assertThat(pinnedDuring(otherIp, () -> {})).isFalse();
+    }
+
+    @Test
+    @DisplayName("El contexto se limpia al terminar la petición")
+    void contextClosedAfterRequest() throws Exception {
+        pinnedDuring(request(), ReplicaRoutingContext::markWrite);
+
+        assertThat(ReplicaRoutingContext.isPinned()).isFalse();
+        assertThat(ReplicaRoutingContext.hasWritten()).isFalse();
+    }
+
+    private boolean pinnedDuring(MockHttpServletRequest request, Runnable action) throws Exception {
+        boolean[] pinned = new boolean[1];
+        FilterChain chain = (req, res) -> {
+            pinned[0] = ReplicaRoutingContext.isPinned();
+            action.run();
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        return pinned[0];
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/orders");
+    }
+
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+}
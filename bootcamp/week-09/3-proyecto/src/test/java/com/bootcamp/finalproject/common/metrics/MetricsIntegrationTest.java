@@ -0,0 +1,102 @@
+package com.bootcamp.finalproject.common.metrics;
+
+import com.bootcamp.finalproject.security.jwt.JwtService;
+import com.bootcamp.finalproject.user.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración para las métricas expuestas en /actuator/prometheus.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    @DisplayName("service.method - Registra el tiempo de los métodos de servicio")
+    void serviceMethod_IsTimed() throws Exception {
+        // Act
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+        // Assert
+        Timer timer = meterRegistry.get(ServiceMetricsAspect.METRIC_NAME)
+            .tag("class", "ProductService")
+            .tag("method", "findAll")
+            .tag("exception", "none")
+            .timer();
+        assertThat(timer.count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("jwt.validation - Mide la validación de JWT con y sin caché")
+    void jwtValidation_IsTimedOnHitsAndMisses() throws Exception {
+        // Arrange: token de un usuario nuevo, aún no verificado
+        String token = jwtService.generateToken(
+            new User("Metrics User", "metrics" + System.nanoTime() + "@example.com", "secret"));
+        long misses = jwtTimer("miss").count();
+        long hits = jwtTimer("hit").count();
+
+        // Act
+        mockMvc.perform(get("/api/products").header("Authorization", "Bearer " + token));
+        mockMvc.perform(get("/api/products").header("Authorization", "Bearer " + token));
+        mockMvc.perform(get("/api/products").header("Authorization", "Bearer no-es-un-jwt"));
+
+        // Assert
+        assertThat(jwtTimer("miss").count()).isEqualTo(misses + 1);
+        assertThat(jwtTimer("hit").count()).isEqualTo(hits + 1);
+        assertThat(jwtTimer("invalid").count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Expone rutas, servicios, pool, Hibernate y JWT como ADMIN")
+    @WithMockUser(roles = "ADMIN")
+    void prometheus_AsAdmin() throws Exception {
+        // Arrange
+        mockMvc.perform(get("/api/products")).andExpect(status().isOk());
+
+        // Act & Assert
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+            .andExpect(content().string(containsString("service_method_seconds_bucket")))
+            .andExpect(content().string(containsString("jwt_validation_seconds_bucket")))
+            .andExpect(content().string(containsString("hikaricp_connections_acquire_seconds")))
+            .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+
+    @Test
+    @DisplayName("GET /actuator/prometheus - Prohibido para usuarios sin rol ADMIN")
+    @WithMockUser(roles = "USER")
+    void prometheus_AsUser() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus"))
+            .andExpect(status().isForbidden());
+    }
+
+    private Timer jwtTimer(String result) {
+        return meterRegistry.get("jwt.validation").tag("result", result).timer();
+    }
+}
@@ -0,0 +1,55 @@
+package com.bootcamp.finalproject.common.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para Money y MoneyConverter.
+ */
+class MoneyTest {
+
+    @Test
+    @DisplayName("of - Convierte a céntimos redondeando como NUMERIC(p, 2)")
+    void of_RoundsToMinorUnits() {
+        assertThat(Money.of(new BigDecimal("19.99")).minorUnits()).isEqualTo(1999);
+        assertThat(Money.of(new BigDecimal("5")).minorUnits()).isEqualTo(500);
+        assertThat(Money.of(new BigDecimal("0.005")).minorUnits()).isEqualTo(1);
+        assertThat(Money.of(new BigDecimal("-1.255")).minorUnits()).isEqualTo(-126);
+    }
+
+    @Test
+    @DisplayName("plus/minus/times - Aritmética entera exacta")
+    void arithmetic_IsExact() {
+        Money price = Money.of(new BigDecimal("0.10"));
+
+        assertThat(price.times(3)).isEqualTo(Money.of(new BigDecimal("0.30")));
+        assertThat(price.plus(price).plus(price).minus(price)).isEqualTo(new Money(20));
+        assertThat(price.times(3).toBigDecimal()).isEqualByComparingTo("0.30");
+        assertThat(price.toString()).isEqualTo("0.10");
+    }
+
+    @Test
+    @DisplayName("times - El desbordamiento lanza excepción en lugar de dar la vuelta")
+    void times_Overflow_Throws() {
+        assertThatThrownBy(() -> new Money(Long.MAX_VALUE / 2).times(3))
+            .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("MoneyConverter - Ida y vuelta con BigDecimal de escala 2")
+    void converter_RoundTrips() {
+        MoneyConverter converter = new MoneyConverter();
+
+        BigDecimal column = converter.convertToDatabaseColumn(new Money(123456));
+
+        assertThat(column).isEqualTo(new BigDecimal("1234.56"));
+        assertThat(converter.convertToEntityAttribute(column)).isEqualTo(new Money(123456));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
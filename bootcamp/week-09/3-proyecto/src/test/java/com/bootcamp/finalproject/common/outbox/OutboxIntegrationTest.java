@@ -0,0 +1,297 @@
+package com.bootcamp.finalproject.common.outbox;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.order.OrderEvent;
+import com.bootcamp.finalproject.order.OrderService;
+import com.bootcamp.finalproject.order.OrderStatus;
+import com.bootcamp.finalproject.order.dto.CreateOrderRequest;
+import com.bootcamp.finalproject.order.dto.OrderItemRequest;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductRepository;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración para el outbox de eventos.
+ * No es transaccional: el dispatcher trabaja con sus propias transacciones.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxIntegrationTest {
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private TransactionTemplate transactionTemplate;
+    private String eventType;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        eventType = "test.event-" + System.nanoTime();
+    }
+
+    @Test
+    @DisplayName("publish - El evento se confirma o se descarta junto con la transacción")
+    void publish_FollowsTransactionOutcome() {
+        // Act
+        transactionTemplate.executeWithoutResult(status -> outboxPublisher.publish(eventType, 1L, Map.of("ok", true)));
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxPublisher.publish(eventType, 2L, Map.of("ok", false));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertThat(events(eventType)).singleElement().satisfies(event -> {
+            assertThat(event.getAggregateId()).isEqualTo(1L);
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+            assertThat(event.getPayload()).isEqualTo("{\"ok\":true}");
+        });
+    }
+
+    @Test
+    @DisplayName("create/cancel - Publican los eventos del ciclo de vida de la orden")
+    void orderLifecycle_PublishesEvents() throws Exception {
+        // Arrange
+        Category category = categoryRepository.save(new Category("Outbox Category " + System.nanoTime(), "Test"));
+        Product product = productRepository.save(new Product("Outbox SKU", null, new BigDecimal("4.00"), 10, category));
+        User user = userRepository.save(new User("Outbox User", "outbox" + System.nanoTime() + "@example.com", "secret"));
+
+        // Act
+        Long orderId = orderService.create(new CreateOrderRequest(
+            "Calle 1", null, List.of(new OrderItemRequest(product.getId(), 2))), user).id();
+        orderService.cancel(orderId, user);
+
+        // Assert
+        List<OutboxEvent> events = outboxRepository.findAll().stream()
+            .filter(event -> orderId.equals(event.getAggregateId()) && event.getEventType().startsWith("order."))
+            .toList();
+        assertThat(events).extracting(OutboxEvent::getEventType)
+            .containsExactly(OrderEvent.PLACED, OrderEvent.CANCELLED);
+        OrderEvent placed = objectMapper.readValue(events.get(0).getPayload(), OrderEvent.class);
+        assertThat(placed.userId()).isEqualTo(user.getId());
+        assertThat(placed.status()).isEqualTo(OrderStatus.PENDING);
+        assertThat(placed.total()).isEqualByComparingTo("8.00");
+    }
+
+    @Test
+    @DisplayName("dispatch - Entrega a los handlers y reintenta hasta marcar FAILED")
+    void dispatch_DeliversAndRetries() {
+        // Arrange
+        String failingType = eventType + "-failing";
+        publish(eventType, 3);
+        publish(failingType, 1);
+
+        List<Long> delivered = new ArrayList<>();
+        OutboxEventHandler recording = handler(eventType, message -> delivered.add(message.aggregateId()));
+        OutboxEventHandler failing = handler(failingType, message -> {
+            throw new IllegalStateException("destino no disponible");
+        });
+        OutboxDispatcher dispatcher = dispatcher(List.of(recording, failing), Duration.ZERO);
+
+        // Act: sin espera entre reintentos, cada ronda vuelve a intentar el fallido
+        dispatcher.dispatchBatch();
+        dispatcher.dispatchBatch();
+        dispatcher.dispatchBatch();
+
+        // Assert
+        assertThat(delivered).containsExactly(0L, 1L, 2L);
+        assertThat(events(eventType)).allSatisfy(event -> {
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.PROCESSED);
+            assertThat(event.getAttempts()).isEqualTo(1);
+            assertThat(event.getProcessedAt()).isNotNull();
+        });
+        assertThat(events(failingType)).singleElement().satisfies(event -> {
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.FAILED);
+            assertThat(event.getAttempts()).isEqualTo(3);
+            assertThat(event.getLastError()).contains("destino no disponible");
+        });
+    }
+
+    @Test
+    @DisplayName("dispatch - Los reintentos solo repiten los handlers que fallaron")
+    void dispatch_RetriesOnlyFailedHandlers() {
+        // Arrange: dos handlers del mismo evento; el segundo falla una vez
+        publish(eventType, 1);
+        AtomicInteger succeeding = new AtomicInteger();
+        AtomicInteger flaky = new AtomicInteger();
+        OutboxDispatcher dispatcher = dispatcher(List.of(
+            handler("succeeding", eventType, message -> succeeding.incrementAndGet()),
+            handler("flaky", eventType, message -> {
+                if (flaky.incrementAndGet() == 1) {
+                    throw new IllegalStateException("fallo puntual");
+                }
+            })), Duration.ZERO);
+
+        // Act
+        dispatcher.dispatchBatch();
+        dispatcher.dispatchBatch();
+
+        // Assert
+        assertThat(succeeding).hasValue(1);
+        assertThat(flaky).hasValue(2);
+        assertThat(events(eventType)).singleElement().satisfies(event -> {
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.PROCESSED);
+            assertThat(event.getAttempts()).isEqualTo(2);
+            assertThat(event.getDeliveredHandlers()).containsExactlyInAnyOrder("succeeding", "flaky");
+        });
+    }
+
+    @Test
+    @DisplayName("dispatch - Un fallo aplaza el reintento según la espera configurada")
+    void dispatch_BacksOffAfterFailure() {
+        // Arrange
+        publish(eventType, 1);
+        AtomicInteger calls = new AtomicInteger();
+        OutboxDispatcher dispatcher = dispatcher(List.of(handler(eventType, message -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("fallo");
+        })), Duration.ofHours(1));
+
+        // Act
+        dispatcher.dispatchPending();
+        dispatcher.dispatchPending();
+
+        // Assert
+        assertThat(calls).hasValue(1);
+        assertThat(events(eventType)).singleElement().satisfies(event -> {
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.PENDING);
+            assertThat(event.getAvailableAt()).isAfter(event.getCreatedAt().plusMinutes(59));
+        });
+    }
+
+    @Test
+    @DisplayName("dispatch - Dispatchers concurrentes no entregan dos veces el mismo evento")
+    void dispatch_ConcurrentDispatchers_DeliverOnce() throws Exception {
+        // Arrange
+        int events = 200;
+        publish(eventType, events);
+        Map<Long, AtomicInteger> deliveries = new ConcurrentHashMap<>();
+        OutboxEventHandler handler = handler(eventType, message ->
+            deliveries.computeIfAbsent(message.aggregateId(), id -> new AtomicInteger()).incrementAndGet());
+
+        int threads = 4;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            OutboxDispatcher dispatcher = dispatcher(List.of(handler), Duration.ofHours(1), 10);
+            futures.add(executor.submit(() -> {
+                start.await();
+                return dispatcher.dispatchPending();
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(deliveries).hasSize(events);
+        assertThat(deliveries.values()).allSatisfy(count -> assertThat(count).hasValue(1));
+        assertThat(events(eventType)).allSatisfy(event ->
+            assertThat(event.getStatus()).isEqualTo(OutboxStatus.PROCESSED));
+    }
+
+    private void publish(String type, int count) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (long i = 0; i < count; i++) {
+                outboxPublisher.publish(type, i, Map.of("n", i));
+            }
+        });
+    }
+
+    private List<OutboxEvent> events(String type) {
+        return outboxRepository.findAll().stream()
+            .filter(event -> event.getEventType().equals(type))
+            .toList();
+    }
+
+    private OutboxDispatcher dispatcher(List<OutboxEventHandler> handlers, Duration retryBackoff) {
+        return dispatcher(handlers, retryBackoff, 1000);
+    }
+
+    private OutboxDispatcher dispatcher(List<OutboxEventHandler> handlers, Duration retryBackoff, int batchSize) {
+        return new OutboxDispatcher(
+            outboxRepository, handlers, transactionManager, new SimpleMeterRegistry(),
+            true, batchSize, 3, retryBackoff, Duration.ofHours(1), Duration.ofMinutes(1), Duration.ofDays(7));
+    }
+
+    private static OutboxEventHandler handler(String type, MessageConsumer consumer) {
+        return handler(type, type, consumer);
+    }
+
+    private static OutboxEventHandler handler(String name, String type, MessageConsumer consumer) {
+        return new OutboxEventHandler() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public boolean supports(String eventType) {
+                return eventType.equals(type);
+            }
+
+            @Override
+            public void handle(OutboxMessage message) {
+                consumer.accept(message);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface MessageConsumer {
+        void accept(OutboxMessage message);
+    }
+}
@@ -0,0 +1,111 @@
+package com.bootcamp.finalproject.config;
+
+import com.bootcamp.finalproject.category.CategoryService;
+import com.bootcamp.finalproject.category.dto.CategoryRequest;
+import com.bootcamp.finalproject.common.jdbc.ReadWriteRoutingDataSource;
+import com.bootcamp.finalproject.product.ProductCache;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración de la réplica de lectura.
+ *
+ * La "réplica" es un segundo pool sobre la misma base H2, así que siempre está
+ * al día; el test comprueba qué pool sirve cada transacción. Usa su propia base
+ * de datos en memoria para no interferir con el resto de tests.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:replicarouting;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "datasource.replica.enabled=true",
+    "datasource.replica.url=jdbc:h2:mem:replicarouting;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "datasource.replica.health-check-interval=PT1H"
+})
+@ActiveProfiles("test")
+class ReadReplicaIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Test
+    @DisplayName("Las transacciones readOnly de JPA usan el pool de la réplica")
+    void readOnlyTransactions_UseReplicaPool() {
+        // Arrange
+        assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        categoryService.create(new CategoryRequest("Réplica " + System.nanoTime(), "Test"));
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // Act & Assert: durante la transacción, la conexión sale del pool correspondiente
+        readOnly.executeWithoutResult(status -> {
+            assertThat(categoryService.findAllActive()).isNotEmpty();
+            assertThat(replicaDataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(replicaDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+        assertThat(routingDataSource.checkReplica()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Las cargas de ProductCache leen del primario aunque sean readOnly")
+    void productCacheLoads_UsePrimaryPool() {
+        // Arrange: checkReplica arranca el pool de la réplica si aún no se ha usado
+        assertThat(routingDataSource.checkReplica()).isTrue();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        int[] replicaConnections = new int[1];
+        int[] primaryConnections = new int[1];
+
+        // Act: un fallo de caché carga el valor dentro de una transacción readOnly
+        productCache.getProduct(-System.nanoTime(), () -> readOnly.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            replicaConnections[0] = replicaDataSource.getHikariPoolMXBean().getActiveConnections();
+            primaryConnections[0] = primaryDataSource.getHikariPoolMXBean().getActiveConnections();
+            return null;
+        }));
+
+        // Assert
+        assertThat(replicaConnections[0]).isZero();
+        assertThat(primaryConnections[0]).isEqualTo(1);
+    }
+}
@@ -0,0 +1,103 @@
+package com.bootcamp.finalproject.config;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.common.exception.InsufficientStockException;
+import com.bootcamp.finalproject.common.jdbc.AdmissionControlDataSource;
+import com.bootcamp.finalproject.order.OrderService;
+import com.bootcamp.finalproject.order.dto.CreateOrderRequest;
+import com.bootcamp.finalproject.order.dto.OrderItemRequest;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductRepository;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración del modo de hilos virtuales.
+ * Usa su propia base de datos en memoria para no interferir con el resto de tests.
+ */
+@SpringBootTest(properties = {
+    "spring.threads.virtual.enabled=true",
+    "spring.datasource.url=jdbc:h2:mem:virtualthreads;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "datasource.admission.max-concurrent=4",
+    "datasource.admission.acquire-timeout=30s"
+})
+@ActiveProfiles("test")
+class VirtualThreadModeIntegrationTest {
+
+    private static final int ORDERS = 1000;
+    private static final int INITIAL_STOCK = 300;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("create - Miles de hilos virtuales comparten el pool sin saturarlo ni vender de más")
+    void create_FromVirtualThreads_AdmittedThroughGate() throws Exception {
+        // Arrange
+        assertThat(dataSource).isInstanceOf(AdmissionControlDataSource.class);
+        AdmissionControlDataSource gate = (AdmissionControlDataSource) dataSource;
+
+        Category category = categoryRepository.save(new Category("Virtual Category", "Test"));
+        Product product = productRepository.save(
+            new Product("Virtual SKU", null, new BigDecimal("5.00"), INITIAL_STOCK, category));
+        User user = userRepository.save(new User("Virtual User", "virtual@example.com", "x"));
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+
+        // Act
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < ORDERS; i++) {
+                results.add(executor.submit(() -> {
+                    try {
+                        orderService.create(new CreateOrderRequest(
+                            "Calle 1", null, List.of(new OrderItemRequest(product.getId(), 1))), user);
+                        created.incrementAndGet();
+                    } catch (InsufficientStockException ex) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        // Assert
+        assertThat(created.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(ORDERS - INITIAL_STOCK);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock()).isZero();
+        assertThat(gate.getAvailablePermits()).isEqualTo(4);
+    }
+}
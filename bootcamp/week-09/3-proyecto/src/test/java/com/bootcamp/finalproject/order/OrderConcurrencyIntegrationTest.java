@@ -0,0 +1,97 @@
+package com.bootcamp.finalproject.order;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.common.exception.InsufficientStockException;
+import com.bootcamp.finalproject.order.dto.CreateOrderRequest;
+import com.bootcamp.finalproject.order.dto.OrderItemRequest;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductRepository;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de concurrencia para la reserva de stock.
+ * No es transaccional: cada pedido debe confirmarse en su propia transacción.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS = 2000;
+    private static final int INITIAL_STOCK = 500;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @DisplayName("create - Pedidos concurrentes sobre un mismo producto nunca dejan stock negativo")
+    void create_ConcurrentOrders_NeverOversell() throws Exception {
+        // Arrange
+        Category category = categoryRepository.save(new Category("Hot Category " + System.nanoTime(), "Test"));
+        Product product = productRepository.save(
+            new Product("Hot SKU", null, new BigDecimal("5.00"), INITIAL_STOCK, category));
+        User user = userRepository.save(
+            new User("Buyer", "buyer" + System.nanoTime() + "@example.com", "secret"));
+        CreateOrderRequest request = new CreateOrderRequest(
+            "Calle 1", null, List.of(new OrderItemRequest(product.getId(), 1)));
+
+        AtomicInteger succeeded = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.create(request, user);
+                    succeeded.incrementAndGet();
+                } catch (InsufficientStockException ex) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        Product reloaded = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(reloaded.getStock()).isZero();
+        assertThat(succeeded.get()).isEqualTo(INITIAL_STOCK);
+        assertThat(rejected.get()).isEqualTo(ORDERS - INITIAL_STOCK);
+    }
+}
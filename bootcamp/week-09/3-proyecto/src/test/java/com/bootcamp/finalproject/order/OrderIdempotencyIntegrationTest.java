@@ -0,0 +1,158 @@
+package com.bootcamp.finalproject.order;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.common.idempotency.IdempotencyStore;
+import com.bootcamp.finalproject.order.dto.CreateOrderRequest;
+import com.bootcamp.finalproject.order.dto.OrderItemRequest;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductRepository;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración de la cabecera Idempotency-Key en POST /api/orders.
+ * No es transaccional: los pedidos deben confirmarse para comprobar el stock.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderIdempotencyIntegrationTest {
+
+    private static final int THREADS = 100;
+    private static final int INITIAL_STOCK = 50;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Product product;
+    private User buyer;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("Idempotency " + System.nanoTime(), "Test"));
+        product = productRepository.save(
+            new Product("Idempotent SKU", null, new BigDecimal("5.00"), INITIAL_STOCK, category));
+        buyer = userRepository.save(new User("Buyer", "idem" + System.nanoTime() + "@example.com", "secret"));
+    }
+
+    @Test
+    @DisplayName("POST /api/orders - 100 peticiones concurrentes con la misma clave crean una sola orden")
+    void create_ConcurrentDuplicates_ExecuteOnce() throws Exception {
+        // Arrange
+        String body = objectMapper.writeValueAsString(orderRequest(2));
+        Set<Long> orderIds = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // Act
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                MvcResult result = mockMvc.perform(createOrder("retry-key", body))
+                    .andExpect(status().isCreated())
+                    .andReturn();
+                orderIds.add(objectMapper.readTree(result.getResponse().getContentAsString()).get("id").asLong());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(orderIds).hasSize(1);
+        assertThat(orderService.findByUser(buyer.getId(), Pageable.unpaged()).getTotalElements()).isEqualTo(1);
+        assertThat(productRepository.findById(product.getId()).orElseThrow().getStock())
+            .isEqualTo(INITIAL_STOCK - 2);
+    }
+
+    @Test
+    @DisplayName("POST /api/orders - Una repetición devuelve la misma orden marcada como repetida")
+    void create_Replay_ReturnsStoredResponse() throws Exception {
+        String body = objectMapper.writeValueAsString(orderRequest(1));
+
+        String first = mockMvc.perform(createOrder("replay-key", body))
+            .andExpect(status().isCreated())
+            .andExpect(header().doesNotExist(IdempotencyStore.REPLAYED_HEADER))
+            .andReturn().getResponse().getContentAsString();
+
+        mockMvc.perform(createOrder("replay-key", body))
+            .andExpect(status().isCreated())
+            .andExpect(header().string(IdempotencyStore.REPLAYED_HEADER, "true"))
+            .andExpect(jsonPath("$.id", is(objectMapper.readTree(first).get("id").asInt())));
+    }
+
+    @Test
+    @DisplayName("POST /api/orders - La misma clave con otro cuerpo responde 422")
+    void create_KeyReusedWithOtherBody_Returns422() throws Exception {
+        mockMvc.perform(createOrder("reused-key", objectMapper.writeValueAsString(orderRequest(1))))
+            .andExpect(status().isCreated());
+
+        mockMvc.perform(createOrder("reused-key", objectMapper.writeValueAsString(orderRequest(3))))
+            .andExpect(status().isUnprocessableEntity())
+            .andExpect(jsonPath("$.code", is("IDEMPOTENCY_KEY_REUSED")));
+    }
+
+    private MockHttpServletRequestBuilder createOrder(String key, String body) {
+        return post("/api/orders")
+            .with(user(buyer))
+            .header(IdempotencyStore.HEADER, key)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body);
+    }
+
+    private CreateOrderRequest orderRequest(int quantity) {
+        return new CreateOrderRequest("Calle 1", null, List.of(new OrderItemRequest(product.getId(), quantity)));
+    }
+}
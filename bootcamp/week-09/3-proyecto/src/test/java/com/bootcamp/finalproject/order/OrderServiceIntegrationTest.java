@@ -0,0 +1,257 @@
+package com.bootcamp.finalproject.order;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.common.exception.InsufficientStockException;
+import com.bootcamp.finalproject.common.pagination.CursorPage;
+import com.bootcamp.finalproject.order.dto.CreateOrderRequest;
+import com.bootcamp.finalproject.order.dto.OrderItemRequest;
+import com.bootcamp.finalproject.order.dto.OrderResponse;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductRepository;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de integración para OrderService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class OrderServiceIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Category category;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("Order Category " + System.nanoTime(), "Test"));
+        user = userRepository.save(new User("Order User", "order" + System.nanoTime() + "@example.com", "secret"));
+    }
+
+    @Test
+    @DisplayName("create - Reserva el stock de todos los items en lote")
+    void create_ReservesStockInBatch() {
+        // Arrange
+        List<Product> products = createProducts(50, 10);
+        List<OrderItemRequest> items = products.stream()
+            .map(product -> new OrderItemRequest(product.getId(), 2))
+            .toList();
+
+        Statistics statistics = statistics();
+
+        // Act
+        OrderResponse response = orderService.create(new CreateOrderRequest("Calle 1", null, items), user);
+
+        // Assert - una sola consulta de productos y ningún UPDATE por entidad
+        assertThat(response.items()).hasSize(50);
+        assertThat(response.total()).isEqualByComparingTo("1000.00");
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(stockOf(products.get(0))).isEqualTo(8);
+        assertThat(stockOf(products.get(49))).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("create - Agrupa cantidades del mismo producto")
+    void create_MergesDuplicateProducts() {
+        // Arrange
+        Product product = createProducts(1, 5).get(0);
+        List<OrderItemRequest> items = List.of(
+            new OrderItemRequest(product.getId(), 2),
+            new OrderItemRequest(product.getId(), 3)
+        );
+
+        // Act
+        orderService.create(new CreateOrderRequest("Calle 1", null, items), user);
+
+        // Assert
+        assertThat(stockOf(product)).isZero();
+    }
+
+    @Test
+    @DisplayName("create - Informa cada producto sin stock y no descuenta nada")
+    void create_InsufficientStock_ReportsEveryProduct() {
+        // Arrange
+        List<Product> products = createProducts(3, 1);
+        List<OrderItemRequest> items = List.of(
+            new OrderItemRequest(products.get(0).getId(), 1),
+            new OrderItemRequest(products.get(1).getId(), 2),
+            new OrderItemRequest(products.get(2).getId(), 5)
+        );
+
+        // Act & Assert
+        assertThatThrownBy(() -> orderService.create(new CreateOrderRequest("Calle 1", null, items), user))
+            .isInstanceOfSatisfying(InsufficientStockException.class, ex ->
+                assertThat(ex.getShortages())
+                    .extracting(InsufficientStockException.StockShortage::productId)
+                    .containsExactly(products.get(1).getId(), products.get(2).getId()));
+
+        assertThat(stockOf(products.get(0))).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("create - Inserta los items de la orden en lote")
+    void create_BatchesItemInserts() {
+        // Arrange
+        List<OrderItemRequest> fewItems = createProducts(5, 10).stream()
+            .map(product -> new OrderItemRequest(product.getId(), 1))
+            .toList();
+        List<OrderItemRequest> manyItems = createProducts(40, 10).stream()
+            .map(product -> new OrderItemRequest(product.getId(), 1))
+            .toList();
+
+        // Act
+        long few = countStatements(() -> {
+            orderService.create(new CreateOrderRequest("Calle 1", null, fewItems), user);
+            entityManager.flush();
+        });
+        long many = countStatements(() -> {
+            orderService.create(new CreateOrderRequest("Calle 2", null, manyItems), user);
+            entityManager.flush();
+        });
+
+        // Assert - consulta de productos + INSERT de la orden + un lote de items,
+        // más como mucho una recarga de cada secuencia
+        assertThat(few).isBetween(3L, 5L);
+        assertThat(many).isBetween(3L, 5L);
+    }
+
+    @Test
+    @DisplayName("findByUser - Número fijo de consultas sin importar el tamaño de página")
+    void findByUser_FixedQueryCount() {
+        // Arrange
+        List<OrderItemRequest> items = createProducts(3, 100).stream()
+            .map(product -> new OrderItemRequest(product.getId(), 1))
+            .toList();
+        for (int i = 0; i < 20; i++) {
+            orderService.create(new CreateOrderRequest("Calle " + i, null, items), user);
+        }
+
+        // Act
+        long smallPage = countStatements(() -> orderService.findByUser(user.getId(), PageRequest.of(0, 5)));
+        long fullPage = countStatements(() -> {
+            Page<OrderResponse> page = orderService.findByUser(user.getId(), PageRequest.of(0, 20));
+            assertThat(page.getContent()).hasSize(20)
+                .allSatisfy(order -> assertThat(order.items()).hasSize(3));
+        });
+
+        // Assert - IDs de la página + count + detalle con JOIN FETCH
+        assertThat(smallPage).isEqualTo(3);
+        assertThat(fullPage).isEqualTo(smallPage);
+    }
+
+    @Test
+    @DisplayName("findByUserAfter - Paginación por cursor de las órdenes del usuario")
+    void findByUserAfter_TraversesAllOrders() {
+        // Arrange
+        List<OrderItemRequest> items = createProducts(1, 100).stream()
+            .map(product -> new OrderItemRequest(product.getId(), 1))
+            .toList();
+        for (int i = 0; i < 7; i++) {
+            orderService.create(new CreateOrderRequest("Calle " + i, null, items), user);
+        }
+
+        // Act
+        CursorPage<OrderResponse> first = orderService.findByUserAfter(user.getId(), null, 5);
+        CursorPage<OrderResponse> second = orderService.findByUserAfter(user.getId(), first.nextCursor(), 5);
+
+        // Assert
+        assertThat(first.content()).hasSize(5);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.content()).hasSize(2);
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.nextCursor()).isNull();
+        assertThat(second.content()).extracting(OrderResponse::id)
+            .doesNotContainAnyElementsOf(first.content().stream().map(OrderResponse::id).toList());
+    }
+
+    @Test
+    @DisplayName("findById - Carga orden, usuario, items y productos en una consulta")
+    void findById_SingleQuery() {
+        // Arrange
+        List<OrderItemRequest> items = createProducts(5, 10).stream()
+            .map(product -> new OrderItemRequest(product.getId(), 1))
+            .toList();
+        Long orderId = orderService.create(new CreateOrderRequest("Calle 1", null, items), user).id();
+
+        // Act
+        long statements = countStatements(() -> {
+            OrderResponse response = orderService.findById(orderId, user);
+            assertThat(response.items()).extracting(item -> item.productName()).doesNotContainNull();
+        });
+
+        // Assert
+        assertThat(statements).isEqualTo(1);
+    }
+
+    private long countStatements(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<Product> createProducts(int count, int stock) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            products.add(new Product("Producto " + i, null, new BigDecimal("10.00"), stock, category));
+        }
+        List<Product> saved = productRepository.saveAllAndFlush(products);
+        statistics().clear();
+        return saved;
+    }
+
+    private Integer stockOf(Product product) {
+        return jdbcTemplate.queryForObject(
+            "SELECT stock FROM products WHERE id = ?", Integer.class, product.getId());
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
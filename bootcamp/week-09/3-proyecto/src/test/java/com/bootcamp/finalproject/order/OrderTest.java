@@ -0,0 +1,79 @@
+package com.bootcamp.finalproject.order;
+
+import com.bootcamp.finalproject.common.money.Money;
+import com.bootcamp.finalproject.product.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para el mantenimiento del total de Order.
+ */
+class OrderTest {
+
+    @Test
+    @DisplayName("addItem - El total incremental coincide con el recálculo completo")
+    void addItem_IncrementalTotalMatchesRecalculation() {
+        // Arrange
+        Order order = new Order();
+        Product product = new Product("SKU", null, new BigDecimal("0.10"), 1000, null);
+
+        // Act
+        for (int i = 1; i <= 1000; i++) {
+            order.addItem(new OrderItem(product, i));
+        }
+
+        // Assert: 0.10 * (1 + 2 + ... + 1000)
+        assertThat(order.getTotal()).isEqualTo(Money.of(new BigDecimal("50050.00")));
+        Money incremental = order.getTotal();
+        order.recalculateTotal();
+        assertThat(order.getTotal()).isEqualTo(incremental);
+    }
+
+    @Test
+    @DisplayName("removeItem/setQuantity - Ajustan el total sin recorrer los items")
+    void removeAndUpdate_AdjustTotal() {
+        // Arrange
+        Order order = new Order();
+        OrderItem first = new OrderItem(new Product("A", null, new BigDecimal("2.50"), 10, null), 2);
+        OrderItem second = new OrderItem(new Product("B", null, new BigDecimal("1.25"), 10, null), 4);
+        order.addItem(first);
+        order.addItem(second);
+
+        // Act & Assert
+        assertThat(order.getTotal().toBigDecimal()).isEqualByComparingTo("10.00");
+
+        first.setQuantity(3);
+        assertThat(order.getTotal().toBigDecimal()).isEqualByComparingTo("12.50");
+
+        second.setUnitPrice(Money.of(new BigDecimal("1.00")));
+        assertThat(order.getTotal().toBigDecimal()).isEqualByComparingTo("11.50");
+
+        order.removeItem(first);
+        order.removeItem(first);
+        assertThat(order.getTotal().toBigDecimal()).isEqualByComparingTo("4.00");
+        assertThat(order.getItems()).containsExactly(second);
+
+        // Un item suelto ya no afecta al total
+        first.setQuantity(100);
+        assertThat(order.getTotal().toBigDecimal()).isEqualByComparingTo("4.00");
+    }
+
+    @Test
+    @DisplayName("recalculateTotal - Necesario tras reemplazar la lista de items")
+    void recalculateTotal_AfterSetItems() {
+        Order order = new Order();
+        OrderItem item = new OrderItem(new Product("A", null, new BigDecimal("3.00"), 10, null), 2);
+        item.setOrder(order);
+        order.setItems(new ArrayList<>(List.of(item)));
+
+        order.recalculateTotal();
+
+        assertThat(order.getTotal().toBigDecimal()).isEqualByComparingTo("6.00");
+    }
+}
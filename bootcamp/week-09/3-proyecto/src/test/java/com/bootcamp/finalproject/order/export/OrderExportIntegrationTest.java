@@ -0,0 +1,243 @@
+package com.bootcamp.finalproject.order.export;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.order.Order;
+import com.bootcamp.finalproject.order.OrderItem;
+import com.bootcamp.finalproject.order.OrderRepository;
+import com.bootcamp.finalproject.order.OrderStatus;
+import com.bootcamp.finalproject.order.dto.OrderItemResponse;
+import com.bootcamp.finalproject.order.dto.OrderResponse;
+import com.bootcamp.finalproject.product.Product;
+import com.bootcamp.finalproject.product.ProductRepository;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración para la exportación de órdenes.
+ * No es transaccional: la exportación abre su propia transacción de lectura
+ * en el hilo que escribe la respuesta.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderExportIntegrationTest {
+
+    private static final int ORDERS = 120;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderExportRepository orderExportRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${orders.export.timeout}")
+    private Duration exportTimeout;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        Category category = categoryRepository.save(new Category("Export Category " + System.nanoTime(), "Test"));
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            products.add(productRepository.save(
+                new Product("Export, \"SKU\" " + i, null, new BigDecimal("2.50"), 1000, category)));
+        }
+        user = userRepository.save(new User("Export User", "export" + System.nanoTime() + "@example.com", "secret"));
+
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order(user, "Calle " + i);
+            order.setStatus(i % 2 == 0 ? OrderStatus.DELIVERED : OrderStatus.SHIPPED);
+            for (Product product : products) {
+                order.addItem(new OrderItem(product, i + 1));
+            }
+            orders.add(order);
+        }
+        orderRepository.saveAll(orders);
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/export - NDJSON agrupa los items de cada orden con una sola consulta")
+    @WithMockUser(roles = "ADMIN")
+    void export_Ndjson_GroupsItemsInSingleQuery() throws Exception {
+        // Arrange
+        Statistics statistics = statistics();
+
+        // Act
+        String body = export("NDJSON", null);
+
+        // Assert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        List<OrderResponse> exported = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            OrderResponse order = objectMapper.readValue(line, OrderResponse.class);
+            if (order.userId().equals(user.getId())) {
+                exported.add(order);
+            }
+        }
+        assertThat(exported).hasSize(ORDERS);
+        assertThat(exported).allSatisfy(order -> {
+            assertThat(order.items()).hasSize(ITEMS_PER_ORDER);
+            assertThat(order.total()).isEqualByComparingTo(order.items().stream()
+                .map(OrderItemResponse::subtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        });
+        assertThat(exported).extracting(OrderResponse::id).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/export - CSV con una fila por item y filtro por estado")
+    @WithMockUser(roles = "ADMIN")
+    void export_Csv_FiltersByStatus() throws Exception {
+        // Act
+        String body = export("CSV", OrderStatus.DELIVERED);
+
+        // Assert
+        String[] lines = body.split("\n");
+        assertThat(lines[0]).startsWith("order_id,created_at,status,user_id");
+
+        List<String> rows = new ArrayList<>();
+        for (int i = 1; i < lines.length; i++) {
+            assertThat(lines[i]).contains(",DELIVERED,");
+            if (lines[i].contains("," + user.getId() + ",Export User,")) {
+                rows.add(lines[i]);
+            }
+        }
+        assertThat(rows).hasSize(ORDERS / 2 * ITEMS_PER_ORDER);
+        assertThat(rows.get(0)).contains(",\"Export, \"\"SKU\"\" 0\",");
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/export - Usa su propio timeout, mayor que el de 30 s por defecto")
+    @WithMockUser(roles = "ADMIN")
+    void export_UsesConfiguredAsyncTimeout() throws Exception {
+        // Act
+        MvcResult started = mockMvc.perform(get("/api/orders/export")).andReturn();
+
+        // Assert
+        assertThat(started.getRequest().isAsyncStarted()).isTrue();
+        assertThat(started.getRequest().getAsyncContext().getTimeout())
+            .isEqualTo(exportTimeout.toMillis())
+            .isGreaterThan(Duration.ofSeconds(30).toMillis());
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /api/orders/export - Requiere rol ADMIN")
+    @WithMockUser(roles = "USER")
+    void export_AsUser_Forbidden() throws Exception {
+        mockMvc.perform(get("/api/orders/export"))
+            .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("export - El contexto de persistencia no crece con el número de filas")
+    void export_KeepsPersistenceContextBounded() {
+        // Arrange
+        int fetchSize = 7;
+        OrderExportService service = new OrderExportService(orderExportRepository, objectMapper, fetchSize);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        int managedEntities = readOnly.execute(status -> {
+            try {
+                service.export(OrderStatus.SHIPPED, OrderExportFormat.NDJSON, out);
+            } catch (IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return entityManager.unwrap(Session.class).getStatistics().getEntityCount();
+        });
+
+        // Assert: como mucho un bloque de items con su orden, usuario y producto
+        assertThat(managedEntities).isLessThanOrEqualTo(fetchSize * 4);
+        long exported = out.toString(StandardCharsets.UTF_8).lines()
+            .filter(line -> line.contains("\"userId\":" + user.getId() + ","))
+            .count();
+        assertThat(exported).isEqualTo(ORDERS / 2);
+    }
+
+    private String export(String format, OrderStatus status) throws Exception {
+        var request = get("/api/orders/export").param("format", format);
+        if (status != null) {
+            request.param("status", status.name());
+        }
+        MvcResult started = mockMvc.perform(request).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(format.equals("CSV") ? "text/csv" : "application/x-ndjson"))
+            .andExpect(header().string("Content-Disposition",
+                "attachment; filename=\"orders." + format.toLowerCase() + "\""))
+            .andReturn();
+        return result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
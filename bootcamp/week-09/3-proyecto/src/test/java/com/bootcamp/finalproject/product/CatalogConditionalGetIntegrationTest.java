@@ -0,0 +1,147 @@
+package com.bootcamp.finalproject.product;
+
+import com.bootcamp.finalproject.category.CategoryService;
+import com.bootcamp.finalproject.category.dto.CategoryRequest;
+import com.bootcamp.finalproject.product.dto.ProductRequest;
+import com.bootcamp.finalproject.product.dto.ProductResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración del GET condicional del catálogo (ETag / Last-Modified).
+ *
+ * Sin @Transactional: las versiones solo avanzan al confirmarse las escrituras.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogConditionalGetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long categoryId;
+    private ProductResponse product;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        categoryId = categoryService.create(new CategoryRequest("ETag " + suffix, "Test")).id();
+        product = productService.create(request("Producto ETag " + suffix, 10));
+    }
+
+    @Test
+    @DisplayName("If-None-Match vigente - 304 sin SQL y sin cuerpo")
+    void ifNoneMatch_NotModified_NoSql() throws Exception {
+        // Arrange
+        MvcResult first = mockMvc.perform(get("/api/categories"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+            .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        Statistics statistics = statistics();
+
+        // Act & Assert
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().string(""));
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("If-Modified-Since con el último Last-Modified - 304")
+    void ifModifiedSince_NotModified() throws Exception {
+        String lastModified = mockMvc.perform(get("/api/products"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.LAST_MODIFIED);
+
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_MODIFIED_SINCE, lastModified))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Una escritura cambia el ETag del catálogo y solo el de los productos afectados")
+    void write_ChangesAffectedEtags() throws Exception {
+        // Arrange
+        String catalogEtag = etag("/api/products");
+        String productEtag = etag("/api/products/" + product.id());
+
+        // Act: modificar otro producto
+        ProductResponse other = productService.create(request("Otro producto " + System.nanoTime(), 5));
+        productService.update(other.id(), request(other.name(), 6));
+
+        // Assert
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, catalogEtag))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/products/" + product.id()).header(HttpHeaders.IF_NONE_MATCH, productEtag))
+            .andExpect(status().isNotModified());
+
+        // Act: modificar el producto
+        productService.update(product.id(), request(product.name(), 20));
+
+        // Assert
+        String updatedEtag = mockMvc.perform(get("/api/products/" + product.id())
+                .header(HttpHeaders.IF_NONE_MATCH, productEtag))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(updatedEtag).isNotEqualTo(productEtag);
+    }
+
+    @Test
+    @DisplayName("Renombrar una categoría cambia el ETag de todos los productos")
+    void categoryRename_ChangesAllProductEtags() throws Exception {
+        String productEtag = etag("/api/products/" + product.id());
+
+        categoryService.update(categoryId, new CategoryRequest("ETag renombrada " + System.nanoTime(), "Test"));
+
+        mockMvc.perform(get("/api/products/" + product.id()).header(HttpHeaders.IF_NONE_MATCH, productEtag))
+            .andExpect(status().isOk());
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private ProductRequest request(String name, int stock) {
+        return new ProductRequest(name, "Descripción", new BigDecimal("10.00"), stock, null, categoryId);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,148 @@
+package com.bootcamp.finalproject.product;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.order.OrderService;
+import com.bootcamp.finalproject.order.dto.CreateOrderRequest;
+import com.bootcamp.finalproject.order.dto.OrderItemRequest;
+import com.bootcamp.finalproject.product.dto.ProductRequest;
+import com.bootcamp.finalproject.product.dto.ProductResponse;
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración para la caché del catálogo.
+ * No es transaccional: la invalidación depende del commit de cada escritura.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductCacheIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Category category;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("Cache Category " + System.nanoTime(), null));
+        product = productRepository.save(new Product("Cached", null, new BigDecimal("1.00"), 50, category));
+    }
+
+    @Test
+    @DisplayName("findById - El segundo acceso se sirve desde caché sin SQL")
+    void findById_SecondReadIsCached() {
+        // Arrange
+        productService.findById(product.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        ProductResponse cached = productService.findById(product.getId());
+
+        // Assert
+        assertThat(cached.name()).isEqualTo("Cached");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "products.byId").tag("result", "hit")
+            .functionCounter().count()).isPositive();
+    }
+
+    @Test
+    @DisplayName("findByCategory - Una escritura invalida las páginas de su categoría")
+    void findByCategory_InvalidatedOnCreate() {
+        // Arrange
+        PageRequest pageable = PageRequest.of(0, 10);
+        assertThat(productService.findByCategory(category.getId(), pageable).getTotalElements()).isEqualTo(1);
+
+        // Act
+        productService.create(new ProductRequest("Nuevo", null, new BigDecimal("2.00"), 5, null, category.getId()));
+
+        // Assert
+        assertThat(productService.findByCategory(category.getId(), pageable).getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("findById - Los pedidos y cancelaciones invalidan el stock cacheado")
+    void findById_InvalidatedOnStockChanges() {
+        // Arrange
+        User user = userRepository.save(new User("Cache User", "cache" + System.nanoTime() + "@example.com", "x"));
+        assertThat(productService.findById(product.getId()).stock()).isEqualTo(50);
+
+        // Act & Assert
+        Long orderId = orderService.create(new CreateOrderRequest(
+            "Calle 1", null, List.of(new OrderItemRequest(product.getId(), 3))), user).id();
+        assertThat(productService.findById(product.getId()).stock()).isEqualTo(47);
+
+        orderService.cancel(orderId, user);
+        assertThat(productService.findById(product.getId()).stock()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("findById - Sin lecturas obsoletas tras una actualización confirmada")
+    void findById_NoStaleReadsUnderConcurrentWrites() throws Exception {
+        // Arrange - lectores concurrentes repoblando la caché sin pausa
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            readers.submit(() -> {
+                while (running.get()) {
+                    productService.findById(product.getId());
+                }
+                return null;
+            });
+        }
+
+        try {
+            // Act & Assert - tras cada update confirmado, la lectura ve el nuevo precio
+            for (int i = 1; i <= 200; i++) {
+                BigDecimal price = new BigDecimal(i + ".00");
+                productService.update(product.getId(),
+                    new ProductRequest("Cached", null, price, 50, null, category.getId()));
+                assertThat(productService.findById(product.getId()).price()).isEqualByComparingTo(price);
+            }
+        } finally {
+            running.set(false);
+            readers.shutdown();
+            assertThat(readers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
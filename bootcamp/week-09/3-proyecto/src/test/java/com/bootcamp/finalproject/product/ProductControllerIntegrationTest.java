@@ -56,13 +56,24 @@ class ProductControllerIntegrationTest {
             .andExpect(jsonPath("$.content", isA(java.util.List.class)));
     }
 
+    @Test
+    @DisplayName("GET /api/products?after= - Paginación por cursor sin autenticación")
+    void findAllAfter_NoAuth() throws Exception {
+        mockMvc.perform(get("/api/products")
+            .param("after", "")
+            .param("size", "5"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.content", isA(java.util.List.class)))
+            .andExpect(jsonPath("$.hasNext", isA(Boolean.class)));
+    }
+
     @Test
     @DisplayName("GET /api/products/search - Buscar productos")
     void search_NoAuth() throws Exception {
         mockMvc.perform(get("/api/products/search")
             .param("q", "test"))
             .andExpect(status().isOk())
-            .andExpect(jsonPath("$", isA(java.util.List.class)));
+            .andExpect(jsonPath("$.content", isA(java.util.List.class)));
     }
 
     @Test
@@ -0,0 +1,152 @@
+package com.bootcamp.finalproject.product;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.product.dto.ProductResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración para la importación masiva de productos.
+ * No es transaccional: cada lote se confirma en su propia transacción.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Category category;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("Import " + System.nanoTime(), null));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/import - CSV con filas válidas e inválidas")
+    @WithMockUser(roles = "ADMIN")
+    void import_Csv_ReportsRowErrors() throws Exception {
+        // Arrange
+        String csv = """
+            name,description,price,stock,imageUrl,category
+            Teclado,"Mecánico, retroiluminado",49.90,10,,%1$s
+            Ratón,,abc,5,,%1$s
+            Monitor,,199.00,-1,,%1$s
+            Cable,,3.50,100,,Inexistente
+            Altavoz,"Con ""bass"" extra",25.00,7,,%1$s
+            """.formatted(category.getName());
+
+        // Act
+        String[] lines = importBody(csv, "text/csv");
+
+        // Assert
+        assertThat(lines).hasSize(4);
+        assertThat(lines[0]).contains("\"line\":3").contains("price: valor numérico inválido");
+        assertThat(lines[1]).contains("\"line\":4").contains("stock: El stock no puede ser negativo");
+        assertThat(lines[2]).contains("\"line\":5").contains("Categoría no encontrada 'Inexistente'");
+        assertThat(lines[3]).isEqualTo("{\"imported\":2,\"failed\":3}");
+
+        assertThat(productRepository.findActiveResponsesByCategoryId(category.getId(),
+            PageRequest.of(0, 10)).getContent())
+            .extracting(ProductResponse::description)
+            .containsExactlyInAnyOrder("Mecánico, retroiluminado", "Con \"bass\" extra");
+        assertThat(productService.search("retroiluminado", PageRequest.of(0, 10))
+            .getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("POST /api/products/import - NDJSON en varios lotes sin colisiones de ID")
+    @WithMockUser(roles = "ADMIN")
+    void import_Ndjson_MultipleBatches() throws Exception {
+        // Arrange - 1200 filas (3 lotes de 500) y una línea con JSON inválido
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            ndjson.append("""
+                {"name":"Bulk %d","price":1.50,"stock":3,"category":"%s"}
+                """.formatted(i, category.getName().toUpperCase()));
+        }
+        ndjson.append("{\"name\": \"roto\"\n");
+
+        // Act
+        String[] lines = importBody(ndjson.toString(), "application/x-ndjson");
+
+        // Assert
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"line\":1201").contains("JSON inválido");
+        assertThat(lines[1]).isEqualTo("{\"imported\":1200,\"failed\":1}");
+        assertThat(jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM products WHERE category_id = ?", Long.class, category.getId())).isEqualTo(1200);
+
+        // Los IDs reservados no chocan con los que asigna Hibernate después
+        Product created = productRepository.save(new Product("Tras importar", null, BigDecimal.ONE, 1, category));
+        List<Long> duplicates = jdbcTemplate.queryForList(
+            "SELECT id FROM products GROUP BY id HAVING COUNT(*) > 1", Long.class);
+        assertThat(created.getId()).isNotNull();
+        assertThat(duplicates).isEmpty();
+    }
+
+    @Test
+    @DisplayName("POST /api/products/import - Cabecera CSV incompleta")
+    @WithMockUser(roles = "ADMIN")
+    void import_Csv_MissingColumn() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                .contentType("text/csv")
+                .content("name,price\nTeclado,10.00\n"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.code").value("BAD_REQUEST"));
+    }
+
+    @Test
+    @DisplayName("POST /api/products/import - Prohibido sin rol ADMIN")
+    @WithMockUser(roles = "USER")
+    void import_AsUser() throws Exception {
+        mockMvc.perform(post("/api/products/import")
+                .contentType("text/csv")
+                .content("name,price,stock,category\n"))
+            .andExpect(status().isForbidden());
+    }
+
+    private String[] importBody(String body, String contentType) throws Exception {
+        return mockMvc.perform(post("/api/products/import")
+                .contentType(contentType)
+                .content(body.getBytes(StandardCharsets.UTF_8)))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString(StandardCharsets.UTF_8)
+            .split("\n");
+    }
+}
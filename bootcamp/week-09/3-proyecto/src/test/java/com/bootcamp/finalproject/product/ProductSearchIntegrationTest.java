@@ -0,0 +1,51 @@
+package com.bootcamp.finalproject.product;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.product.dto.ProductRequest;
+import com.bootcamp.finalproject.product.dto.ProductResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración para la búsqueda de productos.
+ * No es transaccional: el índice se actualiza al confirmar cada escritura.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductSearchIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Test
+    @DisplayName("search - Encuentra productos creados y deja de hacerlo al eliminarlos")
+    void search_FollowsProductWrites() {
+        // Arrange
+        Category category = categoryRepository.save(new Category("Search Category " + System.nanoTime(), null));
+        ProductResponse created = productService.create(new ProductRequest(
+            "Cafetera Italiana Xyzzy", "Acero inoxidable", new BigDecimal("30.00"), 3, null, category.getId()));
+
+        // Act
+        Page<ProductResponse> found = productService.search("CAFETERA xyz", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(found.getContent()).extracting(ProductResponse::id).containsExactly(created.id());
+        assertThat(found.getContent().get(0).categoryName()).isEqualTo(category.getName());
+
+        productService.delete(created.id());
+        assertThat(productService.search("xyzzy", PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+}
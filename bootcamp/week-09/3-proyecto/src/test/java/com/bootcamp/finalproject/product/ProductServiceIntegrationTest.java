@@ -0,0 +1,143 @@
+package com.bootcamp.finalproject.product;
+
+import com.bootcamp.finalproject.category.Category;
+import com.bootcamp.finalproject.category.CategoryRepository;
+import com.bootcamp.finalproject.common.exception.BadRequestException;
+import com.bootcamp.finalproject.common.pagination.CursorPage;
+import com.bootcamp.finalproject.product.dto.ProductResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests de integración para ProductService.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class ProductServiceIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Category> categories;
+
+    @BeforeEach
+    void setUp() {
+        categories = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            categories.add(categoryRepository.save(new Category("Catalog " + i + " " + System.nanoTime(), null)));
+        }
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            products.add(new Product("Producto " + i, "Desc", new BigDecimal("1.50"), i, categories.get(i % 10)));
+        }
+        productRepository.saveAll(products);
+        entityManager.flush();
+        entityManager.clear();
+        productCache.invalidateAll();
+        statistics().clear();
+    }
+
+    @Test
+    @DisplayName("findAll - Proyección a DTO sin cargar entidades")
+    void findAll_ProjectsWithoutEntities() {
+        // Act
+        Page<ProductResponse> page = productService.findAll(PageRequest.of(0, 100, Sort.by("name")));
+
+        // Assert - una consulta de datos y una de conteo, sin entidades ni lazy loads
+        Statistics statistics = statistics();
+        assertThat(page.getContent()).hasSize(100)
+            .allSatisfy(product -> assertThat(product.categoryName()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findByCategory - Proyección filtrada por categoría")
+    void findByCategory_ProjectsWithoutEntities() {
+        // Act
+        Page<ProductResponse> page = productService.findByCategory(categories.get(3).getId(), PageRequest.of(0, 50));
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(20);
+        assertThat(page.getContent())
+            .allSatisfy(product -> assertThat(product.categoryId()).isEqualTo(categories.get(3).getId()));
+        assertThat(statistics().getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("findAllAfter - Recorre todo el catálogo por cursor sin COUNT ni duplicados")
+    void findAllAfter_TraversesWithoutCount() {
+        // Arrange
+        long activeProducts = productRepository.findAll().stream().filter(Product::getActive).count();
+        statistics().clear();
+
+        // Act
+        Set<Long> seen = new LinkedHashSet<>();
+        List<ProductResponse> traversed = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPage<ProductResponse> page = productService.findAllAfter(cursor, 30);
+            page.content().forEach(product -> seen.add(product.id()));
+            traversed.addAll(page.content());
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        // Assert - una sola consulta por página y orden (createdAt, id) descendente
+        assertThat(traversed).hasSize((int) activeProducts);
+        assertThat(seen).hasSize(traversed.size());
+        assertThat(traversed).isSortedAccordingTo(
+            Comparator.comparing(ProductResponse::createdAt).thenComparing(ProductResponse::id).reversed());
+        assertThat(statistics().getPrepareStatementCount()).isEqualTo(pages);
+    }
+
+    @Test
+    @DisplayName("findAllAfter - Cursor inválido")
+    void findAllAfter_InvalidCursor() {
+        assertThatThrownBy(() -> productService.findAllAfter("no-es-un-cursor", 10))
+            .isInstanceOf(BadRequestException.class);
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
@@ -0,0 +1,97 @@
+package com.bootcamp.finalproject.product.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para InvertedIndex.
+ */
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1L, "Camiseta básica", "Algodón orgánico");
+        index.put(2L, "Pantalón", "Combina con cualquier camiseta");
+        index.put(3L, "Camisa de lino", "Manga larga");
+    }
+
+    @Test
+    @DisplayName("tokenize - Ignora mayúsculas, acentos y separadores")
+    void tokenize_FoldsCaseAndAccents() {
+        assertThat(InvertedIndex.tokenize("  Ñandú-Azul, ALGODÓN ")).containsExactly("nandu", "azul", "algodon");
+    }
+
+    @Test
+    @DisplayName("search - Coincidencia en el nombre puntúa más que en la descripción")
+    void search_RanksNameAboveDescription() {
+        InvertedIndex.SearchResult result = index.search("camiseta", 0, 10);
+
+        assertThat(result.ids()).containsExactly(1L, 2L);
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("search - Admite prefijos y consultas sin acentos")
+    void search_MatchesPrefixWithoutAccents() {
+        assertThat(index.search("cami", 0, 10).ids()).containsExactly(1L, 3L, 2L);
+        assertThat(index.search("algodon", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("search - Todos los términos deben coincidir")
+    void search_RequiresAllTerms() {
+        assertThat(index.search("camisa lino", 0, 10).ids()).containsExactly(3L);
+        assertThat(index.search("camisa seda", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("search - Paginación sobre el ranking")
+    void search_Pages() {
+        InvertedIndex.SearchResult result = index.search("cami", 1, 1);
+
+        assertThat(result.ids()).containsExactly(3L);
+        assertThat(result.total()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("put/remove - Reindexar y eliminar actualizan los términos")
+    void putAndRemove_UpdateTerms() {
+        index.put(1L, "Sudadera", null);
+        assertThat(index.search("camiseta", 0, 10).ids()).containsExactly(2L);
+        assertThat(index.search("sudadera", 0, 10).ids()).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(index.search("sudadera", 0, 10).ids()).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("put con versión - Un documento anterior que llega tarde no pisa al nuevo")
+    void putVersioned_IgnoresOlderVersion() {
+        assertThat(index.put(4L, 2, "Chaqueta", null)).isTrue();
+        assertThat(index.put(4L, 1, "Abrigo", null)).isFalse();
+
+        assertThat(index.search("chaqueta", 0, 10).ids()).containsExactly(4L);
+        assertThat(index.search("abrigo", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("remove con versión - Un alta anterior no resucita un producto eliminado")
+    void removeVersioned_RejectsOlderPut() {
+        index.put(4L, 1, "Chaqueta", null);
+
+        assertThat(index.remove(4L, 3)).isTrue();
+        assertThat(index.put(4L, 2, "Chaqueta", null)).isFalse();
+        assertThat(index.search("chaqueta", 0, 10).ids()).isEmpty();
+
+        assertThat(index.remove(4L, 2)).isFalse();
+        assertThat(index.put(4L, 4, "Chaqueta", null)).isTrue();
+        assertThat(index.search("chaqueta", 0, 10).ids()).containsExactly(4L);
+    }
+}
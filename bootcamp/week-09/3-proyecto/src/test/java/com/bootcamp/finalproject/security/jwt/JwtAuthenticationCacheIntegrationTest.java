@@ -0,0 +1,112 @@
+package com.bootcamp.finalproject.security.jwt;
+
+import com.bootcamp.finalproject.user.User;
+import com.bootcamp.finalproject.user.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests de integración para las cachés de tokens y usuarios del filtro JWT.
+ * No es transaccional: la invalidación depende del commit de cada escritura.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class JwtAuthenticationCacheIntegrationTest {
+
+    @Autowired
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("Jwt User", "jwt" + System.nanoTime() + "@example.com", "x"));
+        token = jwtService.generateToken(user);
+    }
+
+    @Test
+    @DisplayName("doFilter - Las peticiones repetidas no consultan la base de datos")
+    void doFilter_RepeatedRequestsAreCached() throws Exception {
+        // Arrange
+        authenticate(token);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        Authentication authentication = authenticate(token);
+
+        // Assert
+        assertThat(authentication).isNotNull();
+        assertThat(authentication.getName()).isEqualTo(user.getEmail());
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("doFilter - Desactivar al usuario invalida su entrada en caché")
+    void doFilter_DeactivatedUserIsRejected() throws Exception {
+        // Arrange
+        assertThat(authenticate(token)).isNotNull();
+
+        // Act
+        user.setActive(false);
+        userRepository.save(user);
+
+        // Assert
+        assertThat(authenticate(token)).isNull();
+    }
+
+    @Test
+    @DisplayName("doFilter - Un token manipulado no se autentica")
+    void doFilter_TamperedTokenIsRejected() throws Exception {
+        // Arrange
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        // Act & Assert
+        assertThat(authenticate(tampered)).isNull();
+    }
+
+    private Authentication authenticate(String jwt) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+
+        SecurityContextHolder.clearContext();
+        try {
+            jwtAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+                @Override
+                public void doFilter(jakarta.servlet.ServletRequest req, jakarta.servlet.ServletResponse res) {
+                    authentication.set(SecurityContextHolder.getContext().getAuthentication());
+                }
+            });
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return authentication.get();
+    }
+}
@@ -0,0 +1,92 @@
+package com.bootcamp.finalproject.security.jwt;
+
+import com.bootcamp.finalproject.user.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests unitarios para JwtService.
+ */
+class JwtServiceTest {
+
+    private static final String SECRET =
+        "dGVzdC1zZWNyZXQta2V5LWZvci1ib290Y2FtcC1maW5hbC1wcm9qZWN0LXRlc3RpbmctdmVyeS1sb25nLXNlY3JldC1rZXk=";
+    private static final String OTHER_SECRET =
+        "b3RyYS1jbGF2ZS1zZWNyZXRhLWRpc3RpbnRhLXBhcmEtdmVyaWZpY2FyLWxhLWZpcm1hLWRlbC10b2tlbg==";
+
+    private JwtService jwtService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, 60_000);
+        user = new User("Jwt User", "jwt@example.com", "x");
+    }
+
+    @Test
+    @DisplayName("parseAndValidate - Devuelve los claims del token en una sola lectura")
+    void parseAndValidate_ReturnsClaims() {
+        // Arrange
+        String token = jwtService.generateToken(Map.of("role", "USER"), user);
+
+        // Act
+        Claims claims = jwtService.parseAndValidate(token);
+
+        // Assert
+        assertThat(claims.getSubject()).isEqualTo("jwt@example.com");
+        assertThat(claims.get("role", String.class)).isEqualTo("USER");
+        assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+        assertThat(jwtService.isTokenValid(token, user)).isTrue();
+    }
+
+    @Test
+    @DisplayName("parseAndValidate - Rechaza tokens firmados con otra clave")
+    void parseAndValidate_RejectsForeignSignature() {
+        String token = new JwtService(OTHER_SECRET, 60_000).generateToken(user);
+
+        assertThatThrownBy(() -> jwtService.parseAndValidate(token)).isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    @DisplayName("parseAndValidate - Rechaza tokens expirados")
+    void parseAndValidate_RejectsExpiredToken() {
+        String token = new JwtService(SECRET, -1_000).generateToken(user);
+
+        assertThatThrownBy(() -> jwtService.parseAndValidate(token)).isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    @DisplayName("parseAndValidate - El parser compartido es seguro entre hilos")
+    void parseAndValidate_IsThreadSafe() throws Exception {
+        // Arrange
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            User other = new User("User " + i, "user" + i + "@example.com", "x");
+            results.add(executor.submit(() ->
+                jwtService.parseAndValidate(jwtService.generateToken(other)).getSubject().equals(other.getEmail())));
+        }
+        executor.shutdown();
+
+        // Assert
+        for (Future<Boolean> result : results) {
+            assertThat(result.get()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.bootcamp.finalproject.security.ratelimit;
+
+import com.bootcamp.finalproject.security.jwt.JwtService;
+import com.bootcamp.finalproject.user.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Tests de integración para RateLimitFilter, con la política "probe" del perfil
+ * de test (2 peticiones por hora en GET /api/rate-limit-probe).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitFilterIntegrationTest {
+
+    private static final String PROBE = "/api/rate-limit-probe";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Test
+    @DisplayName("Agotado el bucket de una IP responde 429 con Retry-After")
+    void exhaustedBucket_Returns429() throws Exception {
+        String ip = "10.0.0.1";
+
+        // La petición pasa el limitador y la rechaza la autenticación
+        mockMvc.perform(probe(ip)).andExpect(status().isForbidden());
+        mockMvc.perform(probe(ip)).andExpect(status().isForbidden());
+
+        mockMvc.perform(probe(ip))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1800"))
+            .andExpect(jsonPath("$.code", is("TOO_MANY_REQUESTS")));
+
+        // Otra IP tiene su propio bucket
+        mockMvc.perform(probe("10.0.0.2")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Con un JWT válido el límite es por usuario, no por IP")
+    void validToken_LimitsPerUser() throws Exception {
+        String token = jwtService.generateToken(new User("Limited", "limited" + System.nanoTime() + "@example.com", "x"));
+        String ip = "10.0.1.1";
+
+        mockMvc.perform(probe(ip).header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        mockMvc.perform(probe(ip).header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+        mockMvc.perform(probe(ip).header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(status().isTooManyRequests());
+
+        // La misma IP sin token sigue teniendo su bucket intacto
+        mockMvc.perform(probe(ip)).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @DisplayName("Las rutas sin política no se limitan")
+    void unmatchedRoute_NotLimited() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/products").with(request -> {
+                request.setRemoteAddr("10.0.2.1");
+                return request;
+            })).andExpect(status().isOk());
+        }
+    }
+
+    private static MockHttpServletRequestBuilder probe(String ip) {
+        return (MockHttpServletRequestBuilder) get(PROBE).with(request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        });
+    }
+}
@@ -0,0 +1,111 @@
+package com.bootcamp.finalproject.security.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests unitarios para TokenBucket.
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("tryAcquire - Admite la ráfaga completa y luego indica cuánto esperar")
+    void tryAcquire_BurstThenWait() {
+        // Arrange: 5 peticiones por cada 5 segundos (una cada segundo)
+        long now = 1_000 * SECOND;
+        TokenBucket bucket = new TokenBucket(5, Duration.ofSeconds(5), now);
+
+        // Act & Assert
+        for (int i = 0; i < 5; i++) {
+            assertThat(bucket.tryAcquire(now)).isZero();
+        }
+        assertThat(bucket.tryAcquire(now)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(now + SECOND / 2)).isEqualTo(SECOND / 2);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Repone tokens con el tiempo sin superar la capacidad")
+    void tryAcquire_RefillsUpToCapacity() {
+        long now = 0;
+        TokenBucket bucket = new TokenBucket(3, Duration.ofSeconds(3), now);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire(now);
+        }
+
+        // Un segundo repone un token
+        assertThat(bucket.tryAcquire(now + SECOND)).isZero();
+        assertThat(bucket.tryAcquire(now + SECOND)).isPositive();
+
+        // Tras mucho tiempo solo vuelve a haber "capacity" tokens
+        long later = now + 3600 * SECOND;
+        int granted = 0;
+        while (bucket.tryAcquire(later) == 0) {
+            granted++;
+        }
+        assertThat(granted).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Funciona aunque System.nanoTime sea negativo o desborde")
+    void tryAcquire_HandlesNanoTimeOverflow() {
+        long now = Long.MAX_VALUE - SECOND / 2;
+        TokenBucket bucket = new TokenBucket(1, Duration.ofSeconds(1), now);
+
+        assertThat(bucket.tryAcquire(now)).isZero();
+        assertThat(bucket.tryAcquire(now)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(now + SECOND)).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire - Con 64 hilos concede exactamente la capacidad y cada llamada tarda microsegundos")
+    void tryAcquire_UnderContention() throws Exception {
+        // Arrange: sin reposición apreciable durante el test
+        int threads = 64;
+        int callsPerThread = 10_000;
+        int capacity = 50_000;
+        TokenBucket bucket = new TokenBucket(capacity, Duration.ofDays(365), System.nanoTime());
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                long begin = System.nanoTime();
+                for (int i = 0; i < callsPerThread; i++) {
+                    if (bucket.tryAcquire(System.nanoTime()) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return System.nanoTime() - begin;
+            }));
+        }
+        start.countDown();
+        long slowestThread = 0;
+        for (Future<Long> future : futures) {
+            slowestThread = Math.max(slowestThread, future.get(60, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert: ningún token se concede dos veces ni se pierde por la contención
+        assertThat(granted).hasValue(capacity);
+        // Margen amplio para máquinas de CI: bastante por debajo de un milisegundo por llamada
+        assertThat(slowestThread / callsPerThread).isLessThan(TimeUnit.MICROSECONDS.toNanos(200));
+    }
+}